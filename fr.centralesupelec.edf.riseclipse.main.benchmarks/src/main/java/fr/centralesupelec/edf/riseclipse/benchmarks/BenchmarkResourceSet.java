@@ -0,0 +1,79 @@
+/*
+*************************************************************************
+**  Copyright (c) 2026 CentraleSupélec & EDF.
+**  All rights reserved. This program and the accompanying materials
+**  are made available under the terms of the Eclipse Public License v2.0
+**  which accompanies this distribution, and is available at
+**  https://www.eclipse.org/legal/epl-v20.html
+** 
+**  This file is part of the RiseClipse tool
+**  
+**  Contributors:
+**      Computer Science Department, CentraleSupélec
+**      EDF R&D
+**  Contacts:
+**      dominique.marcadet@centralesupelec.fr
+**      aurelie.dehouck-neveu@edf.fr
+**  Web site:
+**      https://riseclipse.github.io
+*************************************************************************
+*/
+package fr.centralesupelec.edf.riseclipse.benchmarks;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.xmi.XMLLoad;
+import org.eclipse.emf.ecore.xmi.impl.SAXXMIHandler;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.eclipse.jdt.annotation.NonNull;
+import org.xml.sax.helpers.DefaultHandler;
+
+import fr.centralesupelec.edf.riseclipse.util.AbstractRiseClipseModelLoader;
+import fr.centralesupelec.edf.riseclipse.util.AbstractRiseClipseResourceSet;
+import fr.centralesupelec.edf.riseclipse.util.AbstractRiseClipseXMLLoadImpl;
+import fr.centralesupelec.edf.riseclipse.util.IRiseClipseResource;
+import fr.centralesupelec.edf.riseclipse.util.IRiseClipseResourceSet;
+
+/**
+ * Resource set for models of the synthetic metamodel, as a RiseClipse tool would define one
+ */
+public class BenchmarkResourceSet extends AbstractRiseClipseResourceSet {
+
+    public static class BenchmarkResource extends XMIResourceImpl implements IRiseClipseResource {
+
+        public BenchmarkResource( URI uri ) {
+            super( uri );
+        }
+
+        @Override
+        protected XMLLoad createXMLLoad() {
+            return new AbstractRiseClipseXMLLoadImpl( createXMLHelper() ) {
+                @Override
+                protected DefaultHandler makeDefaultHandler() {
+                    return new SAXXMIHandler( resource, helper, options );
+                }
+            };
+        }
+
+    }
+
+    public static class BenchmarkModelLoader extends AbstractRiseClipseModelLoader {
+
+        public BenchmarkModelLoader( @NonNull IRiseClipseResourceSet resourceSet ) {
+            super( resourceSet );
+        }
+
+    }
+
+    public BenchmarkResourceSet() {
+        super( false );
+        getPackageRegistry().put( SyntheticModelGenerator.NS_URI, SyntheticModelGenerator.getMetamodel() );
+        getResourceFactoryRegistry().getExtensionToFactoryMap().put( "*", new XMIResourceFactoryImpl() );
+    }
+
+    @Override
+    protected @NonNull IRiseClipseResource createRiseClipseResource( @NonNull URI uri, @NonNull String contentType ) {
+        return new BenchmarkResource( uri );
+    }
+
+}
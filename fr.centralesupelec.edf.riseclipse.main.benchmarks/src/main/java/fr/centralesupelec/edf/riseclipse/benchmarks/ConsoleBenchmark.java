@@ -0,0 +1,114 @@
+/*
+*************************************************************************
+**  Copyright (c) 2026 CentraleSupélec & EDF.
+**  All rights reserved. This program and the accompanying materials
+**  are made available under the terms of the Eclipse Public License v2.0
+**  which accompanies this distribution, and is available at
+**  https://www.eclipse.org/legal/epl-v20.html
+** 
+**  This file is part of the RiseClipse tool
+**  
+**  Contributors:
+**      Computer Science Department, CentraleSupélec
+**      EDF R&D
+**  Contacts:
+**      dominique.marcadet@centralesupelec.fr
+**      aurelie.dehouck-neveu@edf.fr
+**  Web site:
+**      https://riseclipse.github.io
+*************************************************************************
+*/
+package fr.centralesupelec.edf.riseclipse.benchmarks;
+
+import java.util.Formatter;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import fr.centralesupelec.edf.riseclipse.util.AbstractRiseClipseConsole;
+import fr.centralesupelec.edf.riseclipse.util.RiseClipseMessage;
+import fr.centralesupelec.edf.riseclipse.util.Severity;
+
+/**
+ * Cost of {@link AbstractRiseClipseConsole#output(RiseClipseMessage)} for displayed
+ * and filtered messages, with and without suppression of identical messages.
+ * A direct use of a Formatter with the default format string is given as a baseline.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class ConsoleBenchmark {
+
+    /**
+     * Number of distinct messages, they are output in turn
+     */
+    private static final int DISTINCT_MESSAGES = 1024;
+
+    @Param( { "none", "all", "window" } )
+    public String dedup;
+
+    private NullRiseClipseConsole console;
+    private RiseClipseMessage[] messages;
+    private int next;
+
+    @Setup
+    public void setUp( Blackhole blackhole ) {
+        console = new NullRiseClipseConsole( blackhole );
+        console.setLevel( Severity.INFO );
+        switch( dedup ) {
+        case "all":
+            console.doNotDisplayIdenticalMessages();
+            break;
+        case "window":
+            console.doNotDisplayIdenticalMessages( DISTINCT_MESSAGES / 2 );
+            break;
+        default:
+            console.displayIdenticalMessages();
+        }
+        messages = new RiseClipseMessage[DISTINCT_MESSAGES];
+        for( int i = 0; i < DISTINCT_MESSAGES; ++i ) {
+            messages[i] = RiseClipseMessage.warning( "Benchmark", "model.xmi", i, "value ", i, " of node ", "n" + i, " is out of range" );
+        }
+    }
+
+    private RiseClipseMessage nextMessage() {
+        RiseClipseMessage message = messages[next];
+        next = ( next + 1 ) & ( DISTINCT_MESSAGES - 1 );
+        return message;
+    }
+
+    @Benchmark
+    public void outputDisplayed() {
+        console.output( nextMessage() );
+    }
+
+    @Benchmark
+    public void outputFiltered() {
+        console.debug( "Benchmark", "model.xmi", nextMessage().getLineNumber(), "not displayed" );
+    }
+
+    @Benchmark
+    public String formatterBaseline() {
+        RiseClipseMessage message = nextMessage();
+        try( Formatter formatter = new Formatter() ) {
+            formatter.format( "%6$s%1$-8s%7$s: [%2$s] %4$s (%5$s:%3$d)", message.getSeverity(), message.getCategory(),
+                    message.getLineNumber(), message.getMessage(), message.getFilename(), "", "" );
+            return formatter.toString();
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+/*
+*************************************************************************
+**  Copyright (c) 2026 CentraleSupélec & EDF.
+**  All rights reserved. This program and the accompanying materials
+**  are made available under the terms of the Eclipse Public License v2.0
+**  which accompanies this distribution, and is available at
+**  https://www.eclipse.org/legal/epl-v20.html
+** 
+**  This file is part of the RiseClipse tool
+**  
+**  Contributors:
+**      Computer Science Department, CentraleSupélec
+**      EDF R&D
+**  Contacts:
+**      dominique.marcadet@centralesupelec.fr
+**      aurelie.dehouck-neveu@edf.fr
+**  Web site:
+**      https://riseclipse.github.io
+*************************************************************************
+*/
+package fr.centralesupelec.edf.riseclipse.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.URIConverter;
+import org.eclipse.emf.ecore.resource.impl.ExtensibleURIConverterImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fr.centralesupelec.edf.riseclipse.util.RiseClipseMetamodel;
+
+/**
+ * Cost of {@link RiseClipseMetamodel#findMetamodelFor(URI, URIConverter)} on plain models
+ * and on models in a zip archive.
+ *
+ * The detection cache is disabled so that each invocation does the actual work.
+ * Outside of an OSGi platform no metamodel is registered: the namespace of the
+ * synthetic model is not recognized, but it is read the same way.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Benchmark )
+public class MetamodelDetectionBenchmark {
+
+    @Param( { "10", "1000000" } )
+    public int nodeCount;
+
+    @Param( { "false", "true" } )
+    public boolean zipped;
+
+    private Path directory;
+    private URI uri;
+    private URIConverter converter;
+    private int previousCacheSize;
+
+    @Setup( Level.Trial )
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory( "riseclipse-detection" );
+        if( zipped ) {
+            Path zip = SyntheticModelGenerator.writeZippedModel( directory.resolve( "model.zip" ), "model.xmi", nodeCount );
+            // Detection is done on the entries of an archive, not on the archive itself
+            uri = URI.createURI( "archive:" + URI.createFileURI( zip.toString() ) + "!/model.xmi" );
+        }
+        else {
+            Path file = SyntheticModelGenerator.writeModel( directory.resolve( "model.xmi" ), nodeCount );
+            uri = URI.createFileURI( file.toString() );
+        }
+        converter = new ExtensibleURIConverterImpl();
+        previousCacheSize = RiseClipseMetamodel.getDetectionCache().getMaximumSize();
+        RiseClipseMetamodel.getDetectionCache().setMaximumSize( 0 );
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDown() throws IOException {
+        RiseClipseMetamodel.getDetectionCache().setMaximumSize( previousCacheSize );
+        try( Stream< Path > paths = Files.walk( directory )) {
+            paths.sorted( Comparator.reverseOrder() ).forEach( p -> p.toFile().delete() );
+        }
+    }
+
+    @Benchmark
+    public Optional< String > findMetamodelFor() {
+        return RiseClipseMetamodel.findMetamodelFor( uri, converter );
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+*************************************************************************
+**  Copyright (c) 2026 CentraleSupélec & EDF.
+**  All rights reserved. This program and the accompanying materials
+**  are made available under the terms of the Eclipse Public License v2.0
+**  which accompanies this distribution, and is available at
+**  https://www.eclipse.org/legal/epl-v20.html
+** 
+**  This file is part of the RiseClipse tool
+**  
+**  Contributors:
+**      Computer Science Department, CentraleSupélec
+**      EDF R&D
+**  Contacts:
+**      dominique.marcadet@centralesupelec.fr
+**      aurelie.dehouck-neveu@edf.fr
+**  Web site:
+**      https://riseclipse.github.io
+*************************************************************************
+*/
+package fr.centralesupelec.edf.riseclipse.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.ecore.resource.Resource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fr.centralesupelec.edf.riseclipse.benchmarks.BenchmarkResourceSet.BenchmarkModelLoader;
+import fr.centralesupelec.edf.riseclipse.util.AbstractRiseClipseModelLoader;
+import fr.centralesupelec.edf.riseclipse.util.IRiseClipseConsole;
+import fr.centralesupelec.edf.riseclipse.util.Severity;
+import fr.centralesupelec.edf.riseclipse.util.TextRiseClipseConsole;
+
+/**
+ * Cost of {@link AbstractRiseClipseModelLoader#load(String, IRiseClipseConsole)}
+ * of a model of the synthetic metamodel, with a new resource set for each load.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 5, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+@State( Scope.Benchmark )
+public class ModelLoaderBenchmark {
+
+    @Param( { "1000", "100000" } )
+    public int nodeCount;
+
+    @Param( { "false", "true" } )
+    public boolean zipped;
+
+    private Path directory;
+    private Path model;
+    private IRiseClipseConsole console;
+    private BenchmarkModelLoader loader;
+
+    @Setup( Level.Trial )
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory( "riseclipse-loader" );
+        if( zipped ) {
+            model = SyntheticModelGenerator.writeZippedModel( directory.resolve( "model.zip" ), "model.xmi", nodeCount );
+        }
+        else {
+            model = SyntheticModelGenerator.writeModel( directory.resolve( "model.xmi" ), nodeCount );
+        }
+        console = new TextRiseClipseConsole();
+        console.setLevel( Severity.ERROR );
+        loader = new BenchmarkModelLoader( new BenchmarkResourceSet() );
+    }
+
+    @Setup( Level.Invocation )
+    public void newResourceSet() {
+        loader.reset( new BenchmarkResourceSet() );
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDown() throws IOException {
+        Files.deleteIfExists( model );
+        Files.deleteIfExists( directory );
+    }
+
+    @Benchmark
+    public Resource load() {
+        return loader.load( model.toString(), console );
+    }
+
+}
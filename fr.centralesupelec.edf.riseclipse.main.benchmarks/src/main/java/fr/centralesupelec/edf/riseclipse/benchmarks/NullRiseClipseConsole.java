@@ -0,0 +1,46 @@
+/*
+*************************************************************************
+**  Copyright (c) 2026 CentraleSupélec & EDF.
+**  All rights reserved. This program and the accompanying materials
+**  are made available under the terms of the Eclipse Public License v2.0
+**  which accompanies this distribution, and is available at
+**  https://www.eclipse.org/legal/epl-v20.html
+** 
+**  This file is part of the RiseClipse tool
+**  
+**  Contributors:
+**      Computer Science Department, CentraleSupélec
+**      EDF R&D
+**  Contacts:
+**      dominique.marcadet@centralesupelec.fr
+**      aurelie.dehouck-neveu@edf.fr
+**  Web site:
+**      https://riseclipse.github.io
+*************************************************************************
+*/
+package fr.centralesupelec.edf.riseclipse.benchmarks;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.openjdk.jmh.infra.Blackhole;
+
+import fr.centralesupelec.edf.riseclipse.util.AbstractRiseClipseConsole;
+
+/**
+ * Console giving formatted messages to a Blackhole, so that only
+ * filtering and formatting are measured
+ */
+public class NullRiseClipseConsole extends AbstractRiseClipseConsole {
+
+    private final Blackhole blackhole;
+
+    public NullRiseClipseConsole( Blackhole blackhole ) {
+        super( false, false );
+        this.blackhole = blackhole;
+    }
+
+    @Override
+    protected void doOutputMessage( @NonNull String m ) {
+        blackhole.consume( m );
+    }
+
+}
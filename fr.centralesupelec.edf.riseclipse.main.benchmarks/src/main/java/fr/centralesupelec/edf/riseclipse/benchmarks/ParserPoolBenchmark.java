@@ -0,0 +1,142 @@
+/*
+*************************************************************************
+**  Copyright (c) 2026 CentraleSupélec & EDF.
+**  All rights reserved. This program and the accompanying materials
+**  are made available under the terms of the Eclipse Public License v2.0
+**  which accompanies this distribution, and is available at
+**  https://www.eclipse.org/legal/epl-v20.html
+** 
+**  This file is part of the RiseClipse tool
+**  
+**  Contributors:
+**      Computer Science Department, CentraleSupélec
+**      EDF R&D
+**  Contacts:
+**      dominique.marcadet@centralesupelec.fr
+**      aurelie.dehouck-neveu@edf.fr
+**  Web site:
+**      https://riseclipse.github.io
+*************************************************************************
+*/
+package fr.centralesupelec.edf.riseclipse.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.XMLLoad;
+import org.eclipse.emf.ecore.xmi.impl.SAXXMIHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import fr.centralesupelec.edf.riseclipse.benchmarks.BenchmarkResourceSet.BenchmarkResource;
+import fr.centralesupelec.edf.riseclipse.util.AbstractRiseClipseXMLLoadImpl;
+
+/**
+ * Cost per file of loading many tiny models, where getting a SAX parser is a large part
+ * of the work, with the pool of parsers of {@link AbstractRiseClipseXMLLoadImpl} used or bypassed.
+ * Resources are loaded directly, without metamodel detection.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+@State( Scope.Benchmark )
+public class ParserPoolBenchmark {
+
+    private static final int FILE_COUNT = 1000;
+
+    /**
+     * Resource whose load gets a new SAX parser from a new factory, as done before parsers were pooled
+     */
+    public static class UnpooledBenchmarkResource extends BenchmarkResource {
+
+        public UnpooledBenchmarkResource( URI uri ) {
+            super( uri );
+        }
+
+        @Override
+        protected XMLLoad createXMLLoad() {
+            return new AbstractRiseClipseXMLLoadImpl( createXMLHelper() ) {
+                @Override
+                protected SAXParser makeParser() throws ParserConfigurationException, SAXException {
+                    SAXParserFactory f = SAXParserFactory.newInstance();
+                    f.setFeature( "http://apache.org/xml/features/disallow-doctype-decl", true );
+                    f.setNamespaceAware( true );
+                    return f.newSAXParser();
+                }
+
+                @Override
+                protected DefaultHandler makeDefaultHandler() {
+                    return new SAXXMIHandler( resource, helper, options );
+                }
+            };
+        }
+
+    }
+
+    @Param( { "true", "false" } )
+    public boolean pooled;
+
+    private Path directory;
+    private final List< URI > models = new ArrayList<>();
+
+    @Setup( Level.Trial )
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory( "riseclipse-parsers" );
+        for( int i = 0; i < FILE_COUNT; ++i ) {
+            Path model = SyntheticModelGenerator.writeModel( directory.resolve( "model" + i + ".xmi" ), 1 );
+            models.add( URI.createFileURI( model.toString() ));
+        }
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDown() throws IOException {
+        for( URI model : models ) {
+            Files.deleteIfExists( Path.of( model.toFileString() ));
+        }
+        models.clear();
+        Files.deleteIfExists( directory );
+    }
+
+    @Benchmark
+    @OperationsPerInvocation( FILE_COUNT )
+    public void loadTinyModels( Blackhole blackhole ) throws IOException {
+        ResourceSet resourceSet = new ResourceSetImpl();
+        resourceSet.getPackageRegistry().put( SyntheticModelGenerator.NS_URI, SyntheticModelGenerator.getMetamodel() );
+        for( URI model : models ) {
+            Resource resource = pooled ? new BenchmarkResource( model ) : new UnpooledBenchmarkResource( model );
+            resourceSet.getResources().add( resource );
+            resource.load( null );
+            blackhole.consume( resource );
+        }
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+*************************************************************************
+**  Copyright (c) 2026 CentraleSupélec & EDF.
+**  All rights reserved. This program and the accompanying materials
+**  are made available under the terms of the Eclipse Public License v2.0
+**  which accompanies this distribution, and is available at
+**  https://www.eclipse.org/legal/epl-v20.html
+** 
+**  This file is part of the RiseClipse tool
+**  
+**  Contributors:
+**      Computer Science Department, CentraleSupélec
+**      EDF R&D
+**  Contacts:
+**      dominique.marcadet@centralesupelec.fr
+**      aurelie.dehouck-neveu@edf.fr
+**  Web site:
+**      https://riseclipse.github.io
+*************************************************************************
+*/
+package fr.centralesupelec.edf.riseclipse.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fr.centralesupelec.edf.riseclipse.util.RiseClipseMessage;
+
+/**
+ * Cost of {@link RiseClipseMessage#getMessage()}, which concatenates the parts
+ * of the message, depending on their number.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class RiseClipseMessageBenchmark {
+
+    @Param( { "1", "4", "16" } )
+    public int partCount;
+
+    private RiseClipseMessage message;
+
+    @Setup
+    public void setUp() {
+        Object[] parts = new Object[partCount];
+        for( int i = 0; i < partCount; ++i ) {
+            parts[i] = ( i % 2 == 0 ) ? "part " : Integer.valueOf( i );
+        }
+        message = RiseClipseMessage.warning( "Benchmark", "model.xmi", 1, parts );
+    }
+
+    @Benchmark
+    public String getMessage() {
+        return message.getMessage();
+    }
+
+}
@@ -0,0 +1,200 @@
+/*
+*************************************************************************
+**  Copyright (c) 2026 CentraleSupélec & EDF.
+**  All rights reserved. This program and the accompanying materials
+**  are made available under the terms of the Eclipse Public License v2.0
+**  which accompanies this distribution, and is available at
+**  https://www.eclipse.org/legal/epl-v20.html
+** 
+**  This file is part of the RiseClipse tool
+**  
+**  Contributors:
+**      Computer Science Department, CentraleSupélec
+**      EDF R&D
+**  Contacts:
+**      dominique.marcadet@centralesupelec.fr
+**      aurelie.dehouck-neveu@edf.fr
+**  Web site:
+**      https://riseclipse.github.io
+*************************************************************************
+*/
+package fr.centralesupelec.edf.riseclipse.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * Generator of synthetic models used by the benchmarks.
+ *
+ * The metamodel has a Root containing Nodes, each Node has a name, a value and
+ * contained children Nodes. Models are written in XMI with a streaming writer,
+ * so that very large ones can be generated.
+ *
+ * Usage: SyntheticModelGenerator &lt;output file&gt; &lt;number of nodes&gt;
+ */
+public final class SyntheticModelGenerator {
+
+    public static final @NonNull String NS_URI    = "http://riseclipse.github.io/benchmarks/synthetic";
+    public static final @NonNull String NS_PREFIX = "synthetic";
+
+    /**
+     * Number of children of each top level node
+     */
+    private static final int FAN_OUT = 9;
+
+    private static EPackage metamodel;
+
+    private SyntheticModelGenerator() {
+    }
+
+    /**
+     * @return the synthetic metamodel, created once
+     */
+    public static synchronized @NonNull EPackage getMetamodel() {
+        if( metamodel == null ) {
+            EcoreFactory factory = EcoreFactory.eINSTANCE;
+            EPackage p = factory.createEPackage();
+            p.setName( NS_PREFIX );
+            p.setNsPrefix( NS_PREFIX );
+            p.setNsURI( NS_URI );
+
+            EClass node = factory.createEClass();
+            node.setName( "Node" );
+            EAttribute name = factory.createEAttribute();
+            name.setName( "name" );
+            name.setEType( EcorePackage.Literals.ESTRING );
+            node.getEStructuralFeatures().add( name );
+            EAttribute value = factory.createEAttribute();
+            value.setName( "value" );
+            value.setEType( EcorePackage.Literals.EINT );
+            node.getEStructuralFeatures().add( value );
+            EReference children = factory.createEReference();
+            children.setName( "children" );
+            children.setEType( node );
+            children.setContainment( true );
+            children.setUpperBound( -1 );
+            node.getEStructuralFeatures().add( children );
+
+            EClass root = factory.createEClass();
+            root.setName( "Root" );
+            EReference nodes = factory.createEReference();
+            nodes.setName( "nodes" );
+            nodes.setEType( node );
+            nodes.setContainment( true );
+            nodes.setUpperBound( -1 );
+            root.getEStructuralFeatures().add( nodes );
+
+            p.getEClassifiers().add( root );
+            p.getEClassifiers().add( node );
+            metamodel = p;
+        }
+        return metamodel;
+    }
+
+    /**
+     * Write a model with the given number of nodes
+     *
+     * @param file      the file to write, replaced if it exists
+     * @param nodeCount the number of nodes in the model
+     * @return file
+     * @throws IOException if file cannot be written
+     */
+    public static @NonNull Path writeModel( @NonNull Path file, int nodeCount ) throws IOException {
+        try( OutputStream out = Files.newOutputStream( file )) {
+            writeModel( out, nodeCount );
+        }
+        return file;
+    }
+
+    /**
+     * Write a model with the given number of nodes, the stream is not closed
+     *
+     * @param out       the stream to write to
+     * @param nodeCount the number of nodes in the model
+     * @throws IOException if the stream cannot be written
+     */
+    public static void writeModel( @NonNull OutputStream out, int nodeCount ) throws IOException {
+        Writer w = new BufferedWriter( new OutputStreamWriter( out, StandardCharsets.UTF_8 ), 64 * 1024 );
+        w.write( "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" );
+        w.write( "<" + NS_PREFIX + ":Root xmi:version=\"2.0\" xmlns:xmi=\"http://www.omg.org/XMI\" xmlns:" + NS_PREFIX + "=\"" + NS_URI + "\">\n" );
+        int written = 0;
+        while( written < nodeCount ) {
+            int top = written++;
+            int children = Math.min( FAN_OUT, nodeCount - written );
+            if( children == 0 ) {
+                writeNode( w, "nodes", top, true );
+                continue;
+            }
+            writeNode( w, "nodes", top, false );
+            for( int i = 0; i < children; ++i ) {
+                w.write( "  " );
+                writeNode( w, "children", written++, true );
+            }
+            w.write( "  </nodes>\n" );
+        }
+        w.write( "</" + NS_PREFIX + ":Root>\n" );
+        w.flush();
+    }
+
+    private static void writeNode( Writer w, String feature, int index, boolean empty ) throws IOException {
+        w.write( "  <" );
+        w.write( feature );
+        w.write( " name=\"n" );
+        w.write( Integer.toString( index ));
+        w.write( "\" value=\"" );
+        w.write( Integer.toString( index % 1000 ));
+        w.write( empty ? "\"/>\n" : "\">\n" );
+    }
+
+    /**
+     * Write a zip archive containing a model with the given number of nodes
+     *
+     * @param zip       the archive to write, replaced if it exists
+     * @param entryName the name of the model in the archive
+     * @param nodeCount the number of nodes in the model
+     * @return zip
+     * @throws IOException if zip cannot be written
+     */
+    public static @NonNull Path writeZippedModel( @NonNull Path zip, @NonNull String entryName, int nodeCount ) throws IOException {
+        try( ZipOutputStream out = new ZipOutputStream( Files.newOutputStream( zip ))) {
+            out.putNextEntry( new ZipEntry( entryName ));
+            writeModel( out, nodeCount );
+            out.closeEntry();
+        }
+        return zip;
+    }
+
+    public static void main( String[] args ) throws IOException {
+        if( args.length != 2 ) {
+            System.err.println( "Usage: SyntheticModelGenerator <output file> <number of nodes>" );
+            System.exit( 1 );
+        }
+        Path file = Paths.get( args[0] );
+        int nodeCount = Integer.parseInt( args[1] );
+        if( file.getFileName().toString().endsWith( ".zip" )) {
+            String entryName = file.getFileName().toString().replaceFirst( "\\.zip$", ".xmi" );
+            writeZippedModel( file, entryName, nodeCount );
+        }
+        else {
+            writeModel( file, nodeCount );
+        }
+    }
+
+}
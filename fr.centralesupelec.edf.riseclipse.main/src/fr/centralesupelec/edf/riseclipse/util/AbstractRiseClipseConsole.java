@@ -22,9 +22,8 @@ package fr.centralesupelec.edf.riseclipse.util;
 
 import java.util.EnumMap;
 import java.util.Formatter;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.Callable;
 
 import org.eclipse.jdt.annotation.NonNull;
 
@@ -63,19 +62,32 @@ public abstract class AbstractRiseClipseConsole implements IRiseClipseConsole {
     /**
      * The unique instance of AbstractRiseClipseConsole
      */
-    protected static @NonNull IRiseClipseConsole console;
+    protected static volatile @NonNull IRiseClipseConsole console;
     
     /**
-     * Give access to the singleton.
+     * Console used by the current thread instead of the singleton, if any
+     */
+    private static final ThreadLocal< IRiseClipseConsole > scopedConsole = new ThreadLocal<>();
+    
+    /**
+     * Give access to the console of the current thread if one has been given by
+     * {@link #runWithConsole(IRiseClipseConsole, Runnable)}, to the singleton otherwise.
      * It creates a {@link TextRiseClipseConsole} if there is none.
      * 
-     * @return The unique instance of AbstractRiseClipseConsole
+     * @return The console to use by the current thread
      */
-    public static synchronized @NonNull IRiseClipseConsole getConsole() {
-        if( console == null ) {
-            new TextRiseClipseConsole();
+    public static @NonNull IRiseClipseConsole getConsole() {
+        IRiseClipseConsole scoped = scopedConsole.get();
+        if( scoped != null ) return scoped;
+        // No lock once the console exists, it is used by many threads
+        IRiseClipseConsole current = console;
+        if( current != null ) return current;
+        synchronized( AbstractRiseClipseConsole.class ) {
+            if( console == null ) {
+                new TextRiseClipseConsole();
+            }
+            return console;
         }
-        return console;
     }
 
     /**
@@ -86,10 +98,59 @@ public abstract class AbstractRiseClipseConsole implements IRiseClipseConsole {
         console = newConsole;
     }
 
+    /**
+     * Run task in the current thread, {@link #getConsole()} giving the given console
+     * instead of the singleton during this run.
+     * This allows for independent tasks running concurrently to use their own console.
+     * 
+     * @param taskConsole the console to be used by task
+     * @param task        the task to run
+     */
+    public static void runWithConsole( @NonNull IRiseClipseConsole taskConsole, @NonNull Runnable task ) {
+        IRiseClipseConsole previous = scopedConsole.get();
+        scopedConsole.set( taskConsole );
+        try {
+            task.run();
+        }
+        finally {
+            restoreScopedConsole( previous );
+        }
+    }
+
+    /**
+     * Same as {@link #runWithConsole(IRiseClipseConsole, Runnable)} for a task giving a result.
+     * 
+     * @param <T>         the type of the result
+     * @param taskConsole the console to be used by task
+     * @param task        the task to run
+     * @return            the result of task
+     * @throws Exception  the exception thrown by task, if any
+     */
+    public static < T > T callWithConsole( @NonNull IRiseClipseConsole taskConsole, @NonNull Callable< T > task ) throws Exception {
+        IRiseClipseConsole previous = scopedConsole.get();
+        scopedConsole.set( taskConsole );
+        try {
+            return task.call();
+        }
+        finally {
+            restoreScopedConsole( previous );
+        }
+    }
+
+    private static void restoreScopedConsole( IRiseClipseConsole previous ) {
+        if( previous == null ) {
+            // Avoid keeping the console in pooled threads
+            scopedConsole.remove();
+        }
+        else {
+            scopedConsole.set( previous );
+        }
+    }
+
     /**
      * The current level of displayed messages
      */
-    protected @NonNull Severity currentLevel = Severity.WARNING;
+    protected volatile @NonNull Severity currentLevel = Severity.WARNING;
 
     /**
      * The string used to format messages
@@ -101,7 +162,23 @@ public abstract class AbstractRiseClipseConsole implements IRiseClipseConsole {
      *   $6 is the color start prefix
      *   $7 is the color end prefix
      */
-    private @NonNull String formatString = "%6$s%1$-8s%7$s: [%2$s] %4$s (%5$s:%3$d)";
+    private volatile @NonNull String formatString = "%6$s%1$-8s%7$s: [%2$s] %4$s (%5$s:%3$d)";
+    
+    /**
+     * formatString compiled, null if it cannot be and a Formatter must be used
+     */
+    private CompiledMessageFormat compiledFormat = CompiledMessageFormat.compile( formatString );
+    
+    /**
+     * Reused for formatting messages with compiledFormat
+     */
+    private final StringBuilder messageBuilder = new StringBuilder( 256 );
+    
+    /**
+     * Guards formatting, duplicate suppression and output, so that messages
+     * from several threads are neither mixed nor lost
+     */
+    private final Object outputLock = new Object();
     
     @Override
     public @NonNull String getFormatString() {
@@ -114,9 +191,13 @@ public abstract class AbstractRiseClipseConsole implements IRiseClipseConsole {
         Formatter f = new Formatter();
         f.format( formatString, Severity.WARNING, "", 0, "", "", "", "" );
         f.close();
-        String oldFormat = this.formatString;
-        this.formatString = formatString;
-        return oldFormat;
+        CompiledMessageFormat compiled = CompiledMessageFormat.compile( formatString );
+        synchronized( outputLock ) {
+            String oldFormat = this.formatString;
+            this.formatString = formatString;
+            this.compiledFormat = compiled;
+            return oldFormat;
+        }
     }
 
     /**
@@ -125,9 +206,9 @@ public abstract class AbstractRiseClipseConsole implements IRiseClipseConsole {
     private boolean useColor;
     
     /**
-     * Messages which have been displayed once
+     * Messages which have been displayed once, null if identical messages are displayed
      */
-    private Set< String > displayedMessages;
+    private volatile DuplicateMessageFilter displayedMessages;
     
     /**
      * Constructs a new console, using it as the unique one
@@ -138,8 +219,23 @@ public abstract class AbstractRiseClipseConsole implements IRiseClipseConsole {
      * @param useColor use colored output if true
      */
     protected AbstractRiseClipseConsole( boolean useColor ) {
+        this( useColor, true );
+    }
+    
+    /**
+     * Constructs a new console, using it as the unique one only if asked.
+     * A console which is not the unique one can be given explicitly to users
+     * or by {@link #runWithConsole(IRiseClipseConsole, Runnable)}.
+     * The initial level is set to {@link Severity#WARNING}
+     * 
+     * @param useColor      use colored output if true
+     * @param replaceGlobal use the new console as the unique one if true
+     */
+    protected AbstractRiseClipseConsole( boolean useColor, boolean replaceGlobal ) {
         this.useColor = useColor;
-        changeConsole( this );
+        if( replaceGlobal ) {
+            changeConsole( this );
+        }
     }
     
     /**
@@ -170,30 +266,98 @@ public abstract class AbstractRiseClipseConsole implements IRiseClipseConsole {
         return previousLevel;
     }
     
+    /**
+     * Counters of the messages given to this console
+     */
+    private final @NonNull RiseClipseConsoleMetrics metrics = new RiseClipseConsoleMetrics();
+    
+    /**
+     * @return the counters of the messages given to this console, including those filtered by level
+     */
+    public @NonNull RiseClipseConsoleMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public void filtered( @NonNull Severity severity, @NonNull String category ) {
+        metrics.count( severity, category, true );
+        RiseClipseEvents.MessageEmitted event = new RiseClipseEvents.MessageEmitted();
+        if( event.shouldCommit() ) {
+            event.severity = severity.name();
+            event.category = category;
+            event.displayed = false;
+            event.commit();
+        }
+    }
+    
     @Override
     public void output( @NonNull RiseClipseMessage message ) {
-        if( currentLevel.compareTo( message.getSeverity() ) >= 0 ) {
-            Formatter formatter = new Formatter();
-            formatter.format(
-                    formatString,
+        boolean enabled = currentLevel.compareTo( message.getSeverity() ) >= 0;
+        metrics.count( message.getSeverity(), message.getCategory(), ! enabled );
+        boolean displayed = false;
+        if( enabled ) {
+            String text = message.getMessage();
+            synchronized( outputLock ) {
+                DuplicateMessageFilter filter = displayedMessages;
+                if(( filter == null ) || ! filter.isDuplicate( message, text )) {
+                    String m = format( message, text );
+                    doOutputMessage( message.getSeverity(), m );
+                    displayed = true;
+                }
+            }
+        }
+        RiseClipseEvents.MessageEmitted event = new RiseClipseEvents.MessageEmitted();
+        if( event.shouldCommit() ) {
+            event.severity = message.getSeverity().name();
+            event.category = message.getCategory();
+            event.filename = message.getFilename();
+            event.lineNumber = message.getLineNumber();
+            event.displayed = displayed;
+            event.commit();
+        }
+    }
+
+    private @NonNull String format( @NonNull RiseClipseMessage message, @NonNull String text ) {
+        CompiledMessageFormat compiled = compiledFormat;
+        if(( compiled != null ) && compiled.isValid() ) {
+            messageBuilder.setLength( 0 );
+            compiled.formatTo(
+                    messageBuilder,
                     message.getSeverity(),
                     message.getCategory(),
                     message.getLineNumber(),
-                    message.getMessage(),
+                    text,
                     message.getFilename(),
                     useColor ? severityColors.get( message.getSeverity() ) : "",
                     useColor ? ANSI_RESET                                  : ""
             );
-            String m = formatter.toString();
-            formatter.close();
-            if( displayedMessages != null ) {
-                if( displayedMessages.contains( m )) {
-                    return;
-                }
-                displayedMessages.add( m );
-            }
-            doOutputMessage( m );
+            return messageBuilder.toString();
         }
+        Formatter formatter = new Formatter();
+        formatter.format(
+                formatString,
+                message.getSeverity(),
+                message.getCategory(),
+                message.getLineNumber(),
+                text,
+                message.getFilename(),
+                useColor ? severityColors.get( message.getSeverity() ) : "",
+                useColor ? ANSI_RESET                                  : ""
+        );
+        String m = formatter.toString();
+        formatter.close();
+        return m;
+    }
+
+    /**
+     * Output message m, of the given severity, on the current console.
+     * The default implementation ignores the severity.
+     * 
+     * @param severity severity of the message
+     * @param m        message to display
+     */
+    protected void doOutputMessage( @NonNull Severity severity, @NonNull String m ) {
+        doOutputMessage( m );
     }
 
     /**
@@ -207,9 +371,40 @@ public abstract class AbstractRiseClipseConsole implements IRiseClipseConsole {
         displayedMessages = null;        
     }
 
+    /**
+     * Messages are identical if their severity, category, filename, line number and text are the same.
+     * All distinct messages are remembered.
+     */
     @Override
     public void doNotDisplayIdenticalMessages() {
-        displayedMessages = new HashSet<>();
+        displayedMessages = new DuplicateMessageFilter( 0, false );
+    }
+
+    /**
+     * Like {@link #doNotDisplayIdenticalMessages()}, but only the last maximumRemembered
+     * distinct messages are remembered, so that memory use is bounded.
+     * 
+     * @param maximumRemembered the number of remembered messages, 0 for no limit
+     */
+    public void doNotDisplayIdenticalMessages( int maximumRemembered ) {
+        displayedMessages = new DuplicateMessageFilter( maximumRemembered, false );
+    }
+
+    /**
+     * Like {@link #doNotDisplayIdenticalMessages()}, but messages are only compared to those
+     * with the same filename output since the filename changed: memory is released when
+     * messages of another file are output.
+     */
+    public void doNotDisplayIdenticalMessagesInSameFile() {
+        displayedMessages = new DuplicateMessageFilter( 0, true );
+    }
+
+    /**
+     * @return the number of messages not displayed because an identical one was,
+     *         since identical messages are no more displayed
+     */
+    public long getSuppressedMessageCount() {
+        return ( displayedMessages == null ) ? 0 : displayedMessages.getSuppressedCount();
     }
     
 }
@@ -24,10 +24,17 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.common.util.WrappedException;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.xmi.IllegalValueException;
 import org.eclipse.emf.ecore.xmi.PackageNotFoundException;
@@ -46,9 +53,16 @@ public abstract class AbstractRiseClipseModelLoader {
     // used by private method
     private IRiseClipseConsole console;
     private int currentResourceSetSize;
+    
+    // Maximum number of resources parsed at the same time by loadAll()
+    private int maxConcurrentLoads;
+    
+    // Local zip archives opened during the current load
+    private ArrayList< ZipFileURIHandler > openedArchives = new ArrayList<>();
 
     protected AbstractRiseClipseModelLoader( @NonNull IRiseClipseResourceSet resourceSet ) {
         this.resourceSet = resourceSet;
+        this.maxConcurrentLoads = Runtime.getRuntime().availableProcessors();
     }
     
     public void reset( @NonNull IRiseClipseResourceSet resourceSet ) {
@@ -59,66 +73,300 @@ public abstract class AbstractRiseClipseModelLoader {
         return resourceSet;
     }
     
+    public int getMaxConcurrentLoads() {
+        return maxConcurrentLoads;
+    }
+
+    /**
+     * Set the maximum number of resources parsed at the same time by {@link #loadAll(Collection, IRiseClipseConsole)}.
+     * 
+     * @param maxConcurrentLoads the size of the pool of threads, must be positive
+     */
+    public void setMaxConcurrentLoads( int maxConcurrentLoads ) {
+        if( maxConcurrentLoads < 1 ) {
+            throw new IllegalArgumentException( "maxConcurrentLoads must be positive" );
+        }
+        this.maxConcurrentLoads = maxConcurrentLoads;
+    }
+    
     public Resource load( @NonNull String name, @NonNull IRiseClipseConsole console ) {
         this.console = console;
-        console.debug( MODEL_LOADER_CATEGORY, 0, "Loading file " + name + " in RiseClipse" );
+        console.debug( MODEL_LOADER_CATEGORY, 0, () -> "Loading file " + name + " in RiseClipse" );
         
         currentResourceSetSize = resourceSet.getResources().size();
+        cleanNameIndex();
+        
+        try {
+            for( URI resourceURI : getResourceURIs( name )) {
+                String resourceName = resourceURI.lastSegment();
+                try {
+                    // Load the resource through the editing domain.
+                    //
+                    @SuppressWarnings( "unused" )
+                    Resource resource = resourceSet.getResource( resourceURI, true );
+                }
+                catch( RuntimeException re ) {
+                    // auxiliary method to lower the cognitive complexity (Sonar)
+                    handleRuntimeException( resourceName, re, currentResourceSetSize );
+                }
+                catch( Exception e ) {
+                    console.error( MODEL_LOADER_CATEGORY, 0, PROBLEM_LOADING_ERROR, resourceName, ": got exception ", e );
+                }
+                
+            }
+        }
+        finally {
+            closeArchives();
+        }
         
+        // resourceSet.getResource() return the resource.
+        // But if an exception occurs, we don't get it !
+        // So, we expect that the newly created resource is the last one
+        // in the resourceSet.
+        if( resourceSet.getResources().size() > currentResourceSetSize ) {
+            return resourceSet.getResources().get( currentResourceSetSize );
+        }
+        return null;
+    }
+
+    /**
+     * Load several files or URLs, parsing them concurrently.
+     * 
+     * Resources are created and attached to the resourceSet sequentially, in the order
+     * of the given names (the content of a zip archive takes the place of the archive).
+     * Only the parsing of resources is done concurrently, using at most
+     * {@link #getMaxConcurrentLoads()} threads.
+     * Problems are reported per file, in the same order, once all resources are parsed.
+     * {@link #finalizeLoad(IRiseClipseConsole)} is called once at the end.
+     * 
+     * As resources are parsed concurrently, their load must not depend on other resources
+     * of the resourceSet.
+     * 
+     * @param names   the files or URLs to load
+     * @param console the IRiseClipseConsole to use for displaying messages
+     * @return        the resources successfully loaded, in order
+     */
+    public @NonNull List< Resource > loadAll( @NonNull Collection< @NonNull String > names, @NonNull IRiseClipseConsole console ) {
+        this.console = console;
+        try {
+            return loadAllResources( names );
+        }
+        finally {
+            closeArchives();
+        }
+    }
+
+    private @NonNull List< Resource > loadAllResources( @NonNull Collection< @NonNull String > names ) {
+        cleanNameIndex();
+        ArrayList< URI > resourceURIs = new ArrayList<>();
+        for( String name : names ) {
+            console.debug( MODEL_LOADER_CATEGORY, 0, () -> "Loading file " + name + " in RiseClipse" );
+            resourceURIs.addAll( getResourceURIs( name ));
+        }
+
+        // Creation of resources is done sequentially, so that they are attached
+        // to the resourceSet in a fixed order
+        ArrayList< Resource > resources = new ArrayList<>();
+        for( URI resourceURI : resourceURIs ) {
+            try {
+                Resource resource = resourceSet.getResource( resourceURI, false );
+                if( resource == null ) {
+                    resource = resourceSet.createResource( resourceURI );
+                }
+                if( resource == null ) {
+                    // Same exception as ResourceSetImpl.getResource()
+                    throw new RuntimeException( "Cannot create a resource for '" + resourceURI + "'; a registered resource factory is needed" );
+                }
+                resources.add( resource );
+            }
+            catch( RuntimeException re ) {
+                handleRuntimeException( resourceURI.lastSegment(), re, resourceSet.getResources().size() );
+            }
+        }
+
+        // Messages output during parsing go to the console given for this load
+        IRiseClipseConsole loadConsole = console;
+        ArrayList< Callable< Exception >> parsings = new ArrayList<>();
+        for( Resource resource : resources ) {
+            parsings.add( () -> AbstractRiseClipseConsole.callWithConsole( loadConsole, () -> parse( resource )));
+        }
+        List< Future< Exception >> results = new ArrayList<>();
+        if( ! parsings.isEmpty() ) {
+            try( ExecutorService executor = Executors.newFixedThreadPool( Math.min( maxConcurrentLoads, parsings.size() ))) {
+                results = executor.invokeAll( parsings );
+            }
+            catch( InterruptedException e ) {
+                console.error( MODEL_LOADER_CATEGORY, 0, "Loading of files has been interrupted" );
+                Thread.currentThread().interrupt();
+                return new ArrayList<>();
+            }
+        }
+
+        ArrayList< Resource > loaded = new ArrayList<>();
+        for( int i = 0; i < results.size(); ++i ) {
+            Resource resource = resources.get( i );
+            String resourceName = resource.getURI().lastSegment();
+            // The executor is closed, so all parsings are done
+            Exception problem = results.get( i ).resultNow();
+            if( problem instanceof RuntimeException re ) {
+                handleRuntimeException( resourceName, re, resourceSet.getResources().indexOf( resource ));
+            }
+            else if( problem != null ) {
+                console.error( MODEL_LOADER_CATEGORY, 0, PROBLEM_LOADING_ERROR, resourceName, ": got exception ", problem );
+            }
+            if( resourceSet.getResources().contains( resource )) {
+                loaded.add( resource );
+            }
+        }
+        
+        finalizeLoad( console );
+        return loaded;
+    }
+
+    /*
+     * Objects of a resource removed from the resourceSet while it was loaded
+     * may be left in the index of named objects: they are removed before a new load.
+     */
+    private void cleanNameIndex() {
+        resourceSet.getNameIndex().ifPresent( index -> index.retain( resourceSet.getResources() ));
+    }
+
+    /*
+     * Parse the given resource, already attached to the resourceSet.
+     * This is done in a thread of the pool, therefore the exception, if any,
+     * is returned to be handled in the calling thread.
+     */
+    private Exception parse( @NonNull Resource resource ) {
+        if( resource.isLoaded() ) return null;
+        try {
+            if( resourceSet instanceof AbstractRiseClipseResourceSet set ) {
+                // Same load as getResource(), with statistics
+                set.demandLoad( resource );
+            }
+            else {
+                resource.load( resourceSet.getLoadOptions() );
+            }
+        }
+        catch( IOException e ) {
+            // Same unwrapping and wrapping as ResourceSetImpl.handleDemandLoadException()
+            Exception cause = ( e instanceof Resource.IOWrappedException ) ? ( Exception ) e.getCause() : e;
+            return new WrappedException( cause );
+        }
+        catch( Exception e ) {
+            return e;
+        }
+        return null;
+    }
+
+    /*
+     * Get the URIs of resources designated by name:
+     * only one if name is not a zip archive, one for each entry if it is.
+     */
+    private @NonNull ArrayList< URI > getResourceURIs( @NonNull String name ) {
         // Construct the URI for the instance file.
         // The argument is treated as a file path only if it denotes an existing file.
         // Otherwise, it's directly treated as a URL.
         File file = new File( name );
         URI uri = file.isFile() ? URI.createFileURI( file.getAbsolutePath() ) : URI.createURI( name );
         
+        if( file.isFile() ) {
+            ArrayList< URI > entryURIs = getZipFileEntryURIs( file, uri );
+            if( entryURIs != null ) {
+                return entryURIs;
+            }
+            // Not a zip archive
+            ArrayList< URI > resourceURIs = new ArrayList<>();
+            resourceURIs.add( uri );
+            return resourceURIs;
+        }
+        
         ArrayList< URI > resourceURIs = new ArrayList<>();
         resourceURIs.add( uri );
+        long start = System.nanoTime();
         try(  ZipInputStream in = new ZipInputStream( resourceSet.getURIConverter().createInputStream( resourceURIs.get( 0 )))) {
             ZipEntry entry = in.getNextEntry();
             if( entry != null ) {
-                console.info( MODEL_LOADER_CATEGORY, 0, "Found a zip archived file" );
+                console.info( MODEL_LOADER_CATEGORY, 0, () -> "Found a zip archived file" );
                 String zipURI = resourceURIs.get( 0 ).toString();
                 resourceURIs.clear();
                 while( entry != null ) {
-                    // Must use "archive:" and not "zip:" to be recognized by ArchiveURIHandlerImpl
-                    resourceURIs.add( URI.createURI( "archive:" + zipURI + "!/" + entry.getName() ));
+                    if( ! entry.isDirectory() ) {
+                        // Must use "archive:" and not "zip:" to be recognized by ArchiveURIHandlerImpl
+                        resourceURIs.add( URI.createURI( "archive:" + zipURI + "!/" + entry.getName() ));
+                    }
                     entry = in.getNextEntry();
                 }
+                recordZipScan( uri, start );
             }
         }
         catch( IOException e ) {
             // Will be handled later
         }
         
-        for( URI resourceURI : resourceURIs ) {
-            String resourceName = resourceURI.lastSegment();
-            try {
-                // Load the resource through the editing domain.
-                //
-                @SuppressWarnings( "unused" )
-                Resource resource = resourceSet.getResource( resourceURI, true );
+        return resourceURIs;
+    }
+
+    /*
+     * A local zip archive is opened once: its entries are read using the central directory,
+     * and the handler giving access to them is kept in the URIConverter of the resourceSet
+     * until the end of the load.
+     * Each entry is sniffed once, so that its metamodel is known when it is loaded.
+     * Returns null if the file is not a zip archive.
+     */
+    private ArrayList< URI > getZipFileEntryURIs( @NonNull File file, @NonNull URI zipURI ) {
+        long start = System.nanoTime();
+        ZipFileURIHandler handler;
+        try {
+            handler = new ZipFileURIHandler( file, zipURI );
+        }
+        catch( IOException e ) {
+            return null;
+        }
+        console.info( MODEL_LOADER_CATEGORY, 0, () -> "Found a zip archived file" );
+        // Must be used instead of ArchiveURIHandlerImpl
+        resourceSet.getURIConverter().getURIHandlers().add( 0, handler );
+        openedArchives.add( handler );
+        
+        ArrayList< URI > resourceURIs = new ArrayList<>();
+        for( URI entryURI : handler.getEntryURIs() ) {
+            RiseClipseEvents.ZipEntryProcessed event = new RiseClipseEvents.ZipEntryProcessed();
+            event.begin();
+            // The metamodel found is kept by the handler and reused when the entry is loaded.
+            // Entries without one are still given to the loader, which reports the problem.
+            boolean metamodelFound = RiseClipseMetamodel.findMetamodelFor( entryURI, resourceSet.getURIConverter() ).isPresent();
+            resourceURIs.add( entryURI );
+            if( event.shouldCommit() ) {
+                event.archive = zipURI.toString();
+                event.entry = entryURI.lastSegment();
+                event.size = handler.getEntrySize( entryURI );
+                event.metamodelFound = metamodelFound;
+                event.commit();
             }
-            catch( RuntimeException re ) {
-                // auxiliary method to lower the cognitive complexity (Sonar)
-                handleRuntimeException( resourceName, re );
+        }
+        recordZipScan( zipURI, start );
+        return resourceURIs;
+    }
+
+    private void recordZipScan( @NonNull URI zipURI, long start ) {
+        if( resourceSet instanceof AbstractRiseClipseResourceSet set ) {
+            set.getLoadStatistics().addNanos( zipURI, LoadStatistics.Phase.ZIP_SCAN, System.nanoTime() - start );
+        }
+    }
+
+    private void closeArchives() {
+        for( ZipFileURIHandler handler : openedArchives ) {
+            resourceSet.getURIConverter().getURIHandlers().remove( handler );
+            try {
+                handler.close();
             }
-            catch( Exception e ) {
-                console.error( MODEL_LOADER_CATEGORY, 0, PROBLEM_LOADING_ERROR, resourceName, ": got exception ", e );
+            catch( IOException e ) {
+                // Nothing we can do
             }
-            
         }
-        
-        // resourceSet.getResource() return the resource.
-        // But if an exception occurs, we don't get it !
-        // So, we expect that the newly created resource is the last one
-        // in the resourceSet.
-        if( resourceSet.getResources().size() > currentResourceSetSize ) {
-            return resourceSet.getResources().get( currentResourceSetSize );
-        }
-        return null;
+        openedArchives.clear();
     }
 
-    private void handleRuntimeException( String resourceName, RuntimeException re ) {
+    private void handleRuntimeException( String resourceName, RuntimeException re, int resourceIndex ) {
         Throwable cause = re.getCause() != null ? re.getCause() : re.initCause( re.getCause() );
         if( cause instanceof IllegalValueException ) {
             IllegalValueException e = ( IllegalValueException ) cause;
@@ -130,8 +378,8 @@ public abstract class AbstractRiseClipseModelLoader {
             console.error( MODEL_LOADER_CATEGORY, 0, PROBLEM_LOADING_ERROR, resourceName, ": file not found" );
             // Resource has been created !
             // We remove it to return null
-            if( resourceSet.getResources().size() > currentResourceSetSize ) {
-                resourceSet.getResources().remove( currentResourceSetSize );
+            if(( resourceIndex >= 0 ) && ( resourceSet.getResources().size() > resourceIndex )) {
+                resourceSet.getResources().remove( resourceIndex );
             }
         }
         else if( cause instanceof PackageNotFoundException ) {
@@ -139,7 +387,7 @@ public abstract class AbstractRiseClipseModelLoader {
             // This is needed at least for SCL files using specific namespaces in Private elements
             // TODO: move this to the specific model loader ?
             PackageNotFoundException e = ( PackageNotFoundException ) cause;
-            console.notice( MODEL_LOADER_CATEGORY, 0, "Elements in the XML namespace ", e.uri(), " are ignored " );
+            console.notice( MODEL_LOADER_CATEGORY, 0, () -> "Elements in the XML namespace " + e.uri() + " are ignored " );
         }
         else if( re instanceof NullPointerException ) {
         	// To get more information and locate the problem
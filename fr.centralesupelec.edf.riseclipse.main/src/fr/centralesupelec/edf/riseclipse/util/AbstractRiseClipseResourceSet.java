@@ -20,12 +20,24 @@
 */
 package fr.centralesupelec.edf.riseclipse.util;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import org.eclipse.emf.common.util.BasicEList;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.ContentHandler;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.URIConverter;
 import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
 import org.eclipse.jdt.annotation.NonNull;
 
@@ -52,8 +64,30 @@ public abstract class AbstractRiseClipseResourceSet extends ResourceSetImpl impl
     // may not have an easy way to call finalizeLoad() after (the "load
     // resource" command in RiseClipse editor use directly the editing
     // domain). If set, this boolean will then call finalizeLoad() after
-    // a getResource().
+    // a getResource(). Only resources not yet finalized, and those
+    // they affect, are then finalized.
     private boolean callFinalizeLoadAfterGetResource;
+    
+    // Performance data of loaded resources
+    private final @NonNull LoadStatistics loadStatistics = new LoadStatistics();
+    
+    // The IRiseClipseResource of this resourceSet, kept up to date by its list of resources
+    private RiseClipseResourceIndex riseClipseResources;
+    
+    // Resources by normalized URI, kept up to date by the list of resources
+    private volatile NormalizedURIResourceMap resourcesByURI;
+    
+    // Resources being loaded by demandLoad(), with the lock held while loading them
+    private final @NonNull ConcurrentHashMap< Resource, Object > loadLocks = new ConcurrentHashMap<>();
+    
+    // Named objects of the resources, shared for their finalization
+    private final @NonNull RiseClipseNameIndex nameIndex = new RiseClipseNameIndex();
+    
+    // Number of finalizations in progress, getResource() does not finalize new resources meanwhile
+    private final @NonNull AtomicInteger runningFinalizations = new AtomicInteger();
+    
+    // Maximum number of resources finalized at the same time
+    private int maxConcurrentFinalizations = Runtime.getRuntime().availableProcessors();
 
     protected AbstractRiseClipseResourceSet( boolean strictContent ) {
         this.strictContent = strictContent;
@@ -64,27 +98,306 @@ public abstract class AbstractRiseClipseResourceSet extends ResourceSetImpl impl
         callFinalizeLoadAfterGetResource = true;
     }
 
+    public int getMaxConcurrentFinalizations() {
+        return maxConcurrentFinalizations;
+    }
+
+    /**
+     * Set the maximum number of resources finalized at the same time.
+     * Only resources for which {@link IRiseClipseResource#isFinalizeLoadConcurrent()} is true
+     * are finalized concurrently.
+     * 
+     * @param maxConcurrentFinalizations the size of the pool of threads, must be positive
+     */
+    public void setMaxConcurrentFinalizations( int maxConcurrentFinalizations ) {
+        if( maxConcurrentFinalizations < 1 ) {
+            throw new IllegalArgumentException( "maxConcurrentFinalizations must be positive" );
+        }
+        this.maxConcurrentFinalizations = maxConcurrentFinalizations;
+    }
+
+    /**
+     * Objects of a resource are removed from the index when the resource is removed
+     * from this resourceSet or loaded again.
+     */
+    @Override
+    public @NonNull Optional< RiseClipseNameIndex > getNameIndex() {
+        return Optional.of( nameIndex );
+    }
+
+    /**
+     * @return the performance data collected while resources are loaded
+     */
+    public @NonNull LoadStatistics getLoadStatistics() {
+        return loadStatistics;
+    }
+
     @Override
     public void printStatistics( @NonNull IRiseClipseConsole console ) {
-        getRiseClipseResources().stream().forEach( r -> r.printStatistics( console ) );
+        // A copy, in case new resources are loaded
+        for( IRiseClipseResource r : getRiseClipseResources() ) {
+            r.printStatistics( console );
+        }
+        loadStatistics.print( console );
     }
 
+    /**
+     * Finalize all resources. A resource is finalized after the resources it depends on
+     * according to {@link IRiseClipseResource#getFinalizeLoadDependencies()}, resources
+     * which allow for it are finalized concurrently.
+     */
     @Override
     public void finalizeLoad( @NonNull IRiseClipseConsole console ) {
-        getRiseClipseResources().stream().forEach( r -> r.finalizeLoad( console ) );
+        // A copy, because the finalization of a resource may load other ones
+        finalizeResources( getRiseClipseResources(), console );
+    }
+
+    /**
+     * Finalize only the resources added since the last finalization, and those
+     * they affect according to {@link IRiseClipseResource#getAffectedResources(java.util.Collection)}.
+     * Resources added during this finalization are left for the next one.
+     * 
+     * @param console the IRiseClipseConsole to use for displaying any message
+     */
+    public void finalizeNewResources( @NonNull IRiseClipseConsole console ) {
+        RiseClipseResourceIndex index = getRiseClipseResourceIndex();
+        List< IRiseClipseResource > added = index.getPendingResources();
+        if( added.isEmpty() ) return;
+        Set< IRiseClipseResource > toFinalize = new LinkedHashSet<>( added );
+        Collection< IRiseClipseResource > finalized = index.getFinalizedResources();
+        for( IRiseClipseResource r : added ) {
+            for( IRiseClipseResource affected : r.getAffectedResources( finalized )) {
+                // May have been removed meanwhile
+                if( index.isFinalized( affected )) {
+                    toFinalize.add( affected );
+                }
+            }
+        }
+        finalizeResources( new ArrayList<>( toFinalize ), console );
+    }
+
+    private void finalizeResources( @NonNull List< IRiseClipseResource > resources, @NonNull IRiseClipseConsole console ) {
+        RiseClipseResourceIndex index = getRiseClipseResourceIndex();
+        runningFinalizations.incrementAndGet();
+        try {
+            new FinalizeLoadScheduler( maxConcurrentFinalizations, this::finalizeResource ).run( resources, console, index::setFinalized );
+        }
+        finally {
+            runningFinalizations.decrementAndGet();
+        }
     }
 
+    /**
+     * @return the IRiseClipseResource added to this resourceSet and not finalized since, in order of addition
+     */
+    public @NonNull List< IRiseClipseResource > getPendingResources() {
+        return getRiseClipseResourceIndex().getPendingResources();
+    }
+
+    private void finalizeResource( @NonNull IRiseClipseResource r, @NonNull IRiseClipseConsole console ) {
+        RiseClipseEvents.FinalizeLoad event = new RiseClipseEvents.FinalizeLoad();
+        event.begin();
+        long start = System.nanoTime();
+        r.finalizeLoad( console );
+        recordNanos( r, LoadStatistics.Phase.FINALIZE, start );
+        if( event.shouldCommit() && ( r instanceof Resource resource )) {
+            event.uri = String.valueOf( resource.getURI() );
+            event.commit();
+        }
+    }
+
+    private void recordNanos( Object resource, LoadStatistics.Phase phase, long start ) {
+        if(( resource instanceof Resource r ) && ( r.getURI() != null )) {
+            loadStatistics.addNanos( r.getURI(), phase, System.nanoTime() - start );
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see org.eclipse.emf.ecore.resource.impl.ResourceSetImpl#demandLoad(org.eclipse.emf.ecore.resource.Resource)
+     * 
+     * Parsing time and number of objects are recorded.
+     * A resource is loaded by one thread at a time; other threads asking for it wait
+     * for the end of its loading.
+     */
+    @Override
+    protected void demandLoad( Resource resource ) throws IOException {
+        Object lock = loadLocks.computeIfAbsent( resource, r -> new Object() );
+        try {
+            synchronized( lock ) {
+                // May have been loaded while waiting for the lock
+                if( ! resource.isLoaded() ) {
+                    doDemandLoad( resource );
+                }
+            }
+        }
+        finally {
+            loadLocks.remove( resource, lock );
+        }
+    }
+
+    private void doDemandLoad( Resource resource ) throws IOException {
+        // In case the resource has been unloaded
+        nameIndex.remove( resource );
+        RiseClipseEvents.ResourceParsed event = new RiseClipseEvents.ResourceParsed();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            super.demandLoad( resource );
+        }
+        finally {
+            recordNanos( resource, LoadStatistics.Phase.PARSE, start );
+            event.end();
+        }
+        // Counting objects needs a walk through the whole resource, only done if asked for
+        boolean countObjects = loadStatistics.isObjectCountEnabled() && ( resource.getURI() != null );
+        if( ! countObjects && ! event.shouldCommit() ) return;
+        long count = countObjects( resource );
+        if( countObjects ) {
+            loadStatistics.setObjectCount( resource.getURI(), count );
+        }
+        if( event.shouldCommit() ) {
+            event.uri = String.valueOf( resource.getURI() );
+            event.objectCount = count;
+            event.succeeded = resource.getErrors().isEmpty();
+            event.commit();
+        }
+    }
+
+    private static long countObjects( Resource resource ) {
+        long count = 0;
+        for( Iterator< EObject > it = resource.getAllContents(); it.hasNext(); it.next() ) {
+            ++count;
+        }
+        return count;
+    }
+
+    /* (non-Javadoc)
+     * @see org.eclipse.emf.ecore.resource.impl.ResourceSetImpl#getResources()
+     * 
+     * The list of resources keeps the index of IRiseClipseResource up to date.
+     */
+    @Override
+    public EList< Resource > getResources() {
+        if( resources == null ) {
+            createResources();
+        }
+        return resources;
+    }
+
+    // The first calls to getResource() may be done by several threads
+    private synchronized void createResources() {
+        if( resources == null ) {
+            IndexedResourcesEList list = new IndexedResourcesEList();
+            riseClipseResources = new RiseClipseResourceIndex( list );
+            resourcesByURI = new NormalizedURIResourceMap( uri -> getURIConverter().normalize( uri ));
+            resources = list;
+        }
+    }
+
+    private @NonNull RiseClipseResourceIndex getRiseClipseResourceIndex() {
+        getResources();
+        return riseClipseResources;
+    }
+
+    private @NonNull NormalizedURIResourceMap getResourcesByURI() {
+        NormalizedURIResourceMap byURI = resourcesByURI;
+        if( byURI == null ) {
+            createResources();
+            byURI = resourcesByURI;
+        }
+        return byURI;
+    }
+
+    /**
+     * List of resources of the resourceSet updating the index of IRiseClipseResource
+     */
+    protected class IndexedResourcesEList extends ResourcesEList< Resource > {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected void didAdd( int index, Resource newObject ) {
+            super.didAdd( index, newObject );
+            resourcesByURI.added( newObject );
+            if( newObject instanceof IRiseClipseResource r ) {
+                riseClipseResources.added( index, r );
+            }
+        }
+
+        @Override
+        protected void didRemove( int index, Resource oldObject ) {
+            super.didRemove( index, oldObject );
+            resourcesByURI.removed( oldObject );
+            nameIndex.remove( oldObject );
+            if( oldObject instanceof IRiseClipseResource r ) {
+                riseClipseResources.removed( r );
+            }
+        }
+
+        @Override
+        protected void didSet( int index, Resource newObject, Resource oldObject ) {
+            super.didSet( index, newObject, oldObject );
+            resourcesByURI.removed( oldObject );
+            resourcesByURI.added( newObject );
+            nameIndex.remove( oldObject );
+            if( oldObject instanceof IRiseClipseResource r ) {
+                riseClipseResources.removed( r );
+            }
+            if( newObject instanceof IRiseClipseResource r ) {
+                riseClipseResources.added( index, r );
+            }
+        }
+
+        @Override
+        protected void didMove( int index, Resource movedObject, int oldIndex ) {
+            super.didMove( index, movedObject, oldIndex );
+            if( movedObject instanceof IRiseClipseResource r ) {
+                riseClipseResources.moved( index, r );
+            }
+        }
+
+    }
+
+    /**
+     * The returned list is a copy, it can be modified and used while resources are added
+     * to or removed from the resourceSet.
+     * 
+     * @return the IRiseClipseResource of this resourceSet, in order
+     */
     public @NonNull EList< IRiseClipseResource > getRiseClipseResources() {
-        // The list is copied, but it is expected that the number of resources is low,
-        // so this should not be a problem.
-        EList< IRiseClipseResource > res = new BasicEList<>();
-        for( Resource r : super.getResources() ) {
-           if( r instanceof IRiseClipseResource ) {
-               res.add(( IRiseClipseResource ) r );
-           }
-       }
-        
-        return res;
+        return getRiseClipseResourceIndex().copyResources();
+    }
+
+    /**
+     * Same as {@link #getRiseClipseResources()}, without a copy: the returned list is an
+     * unmodifiable view, kept up to date when resources are added to or removed from the
+     * resourceSet. It must not be iterated while resources are added or removed, for example
+     * by a finalization or another thread.
+     * 
+     * @return the IRiseClipseResource of this resourceSet, in order
+     */
+    public @NonNull EList< IRiseClipseResource > getRiseClipseResourcesView() {
+        return getRiseClipseResourceIndex().getResources();
+    }
+
+    /**
+     * @param uri the URI of a resource, it is not normalized
+     * @return the IRiseClipseResource of this resourceSet with the given URI, null if none
+     */
+    public IRiseClipseResource getRiseClipseResource( @NonNull URI uri ) {
+        return getRiseClipseResourceIndex().getResource( uri );
+    }
+
+    /**
+     * The returned list is a copy.
+     * The metamodel of a resource is the one found when it was created by {@link #createResource(URI, String)};
+     * it is an empty string for resources added otherwise.
+     * 
+     * @param metamodelURI the URI of a metamodel
+     * @return the IRiseClipseResource of this resourceSet conforming to the given metamodel, in order of addition
+     */
+    public @NonNull EList< IRiseClipseResource > getRiseClipseResources( @NonNull String metamodelURI ) {
+        return getRiseClipseResourceIndex().getResources( metamodelURI );
     }
 
     /* (non-Javadoc)
@@ -92,31 +405,160 @@ public abstract class AbstractRiseClipseResourceSet extends ResourceSetImpl impl
      */
     @Override
     public @NonNull Resource getResource( @NonNull URI uri, boolean loadOnDemand ) {
-        Resource res = super.getResource( uri, loadOnDemand );
-        
-        if( callFinalizeLoadAfterGetResource && ( res instanceof IRiseClipseResource )) {
-            finalizeLoad( AbstractRiseClipseConsole.getConsole() );
+        Resource res = findResource( uri, loadOnDemand );
+        if( callFinalizeLoadAfterGetResource && ( res instanceof IRiseClipseResource ) && ( runningFinalizations.get() == 0 )) {
+            // Already finalized resources are not finalized again.
+            // Resources loaded by finalizations, possibly in several threads, are finalized
+            // once they are done, until no new resource is loaded
+            IRiseClipseConsole console = AbstractRiseClipseConsole.getConsole();
+            Set< IRiseClipseResource > attempted = new HashSet<>();
+            List< IRiseClipseResource > pending = getPendingResources();
+            while( ! attempted.containsAll( pending )) {
+                attempted.addAll( pending );
+                finalizeNewResources( console );
+                pending = getPendingResources();
+            }
+        }
+        return res;
+    }
+
+    /*
+     * Same as ResourceSetImpl.getResource(), but existing resources are found using
+     * the map of normalized URIs instead of normalizing the URIs of all resources.
+     * Resources are created without holding a lock, only their addition to this resourceSet
+     * is done by one thread at a time, so that a resource asked for by several threads is
+     * added only once; each resource is loaded by one thread at a time, and only once.
+     */
+    private Resource findResource( @NonNull URI uri, boolean loadOnDemand ) {
+        if(( resourceLocator != null ) || ( uriResourceMap != null )) {
+            // The lookup of resources has been customized
+            return super.getResource( uri, loadOnDemand );
+        }
+        Resource res = getResourcesByURI().get( uri );
+        if(( res != null ) && ( ! loadOnDemand || ( res.isLoaded() && ! loadLocks.containsKey( res )))) {
+            return res;
+        }
+        if( loadOnDemand && ( getURIConverter() instanceof RiseClipseURIConverter converter )) {
+            // A resource created here is loaded using the stream opened to find its metamodel
+            RiseClipseURIConverter.Preload previous = converter.beginPreload();
+            try {
+                return findOrCreateResource( uri, true );
+            }
+            finally {
+                converter.endPreload( previous );
+            }
+        }
+        return findOrCreateResource( uri, loadOnDemand );
+    }
+
+    private Resource findOrCreateResource( @NonNull URI uri, boolean loadOnDemand ) {
+        NormalizedURIResourceMap byURI = getResourcesByURI();
+        Resource res = byURI.get( uri );
+        if( res == null ) {
+            Resource delegatedResource = delegatedGetResource( uri, loadOnDemand );
+            if(( delegatedResource != null ) || ! loadOnDemand ) {
+                return delegatedResource;
+            }
+            // Finding the metamodel needs to open the resource, it is done without holding the lock
+            NewResource created = newResource( uri, ContentHandler.UNSPECIFIED_CONTENT_TYPE );
+            if( created.resource == null ) {
+                throw new RuntimeException( "Cannot create a resource for '" + uri + "'; a registered resource factory is needed" );
+            }
+            synchronized( byURI ) {
+                res = byURI.get( uri );
+                if( res == null ) {
+                    res = addResource( created );
+                }
+                // Otherwise, the resource created by another thread is used
+            }
+        }
+        // A resource is marked as loaded when its loading begins
+        if( loadOnDemand && ( ! res.isLoaded() || loadLocks.containsKey( res ))) {
+            // Loaded outside of the lock on the map, demandLoad() waits for another thread loading it
+            demandLoadHelper( res );
         }
         return res;
     }
 
+    /**
+     * The URIConverter of a RiseClipse resourceSet allows for opening only once
+     * a resource when it is created and then loaded.
+     */
+    @Override
+    public URIConverter getURIConverter() {
+        if( uriConverter == null ) {
+            uriConverter = new RiseClipseURIConverter( loadStatistics );
+        }
+        return uriConverter;
+    }
+
     /* (non-Javadoc)
      * @see org.eclipse.emf.ecore.resource.impl.ResourceSetImpl#createResource(org.eclipse.emf.common.util.URI, java.lang.String)
+     * 
+     * If the URIConverter has not been changed and the resource is created by getResource()
+     * to be loaded, the stream opened to find the metamodel is kept to be used when the
+     * created resource is loaded.
      */
     @Override
     public Resource createResource( @NonNull URI uri, @NonNull String contentType ) {
+        NewResource created = newResource( uri, contentType );
+        if( created.resource == null ) {
+            return null;
+        }
+        synchronized( getResourcesByURI() ) {
+            return addResource( created );
+        }
+    }
+
+    /*
+     * A resource created but not yet added to this resourceSet, with its metamodel
+     */
+    private static final class NewResource {
+        private final Resource resource;
+        private final Optional< String > metamodelName;
+
+        NewResource( Resource resource, Optional< String > metamodelName ) {
+            this.resource = resource;
+            this.metamodelName = metamodelName;
+        }
+    }
+
+    /*
+     * Same as ResourceSetImpl.createResource(), but the resource is not added to this resourceSet.
+     * It can be called concurrently.
+     */
+    private @NonNull NewResource newResource( @NonNull URI uri, @NonNull String contentType ) {
         Resource res = null;
-        Optional< String > metamodelName = RiseClipseMetamodel.findMetamodelFor( uri );
+        Optional< String > metamodelName;
+        long start = System.nanoTime();
+        if(( getURIConverter() instanceof RiseClipseURIConverter converter ) && converter.isPreloading() ) {
+            metamodelName = RiseClipseMetamodel.findMetamodelFor( uri, converter, inputStream -> converter.preload( uri, inputStream ));
+        }
+        else {
+            metamodelName = RiseClipseMetamodel.findMetamodelFor( uri, getURIConverter() );
+        }
+        loadStatistics.addNanos( uri, LoadStatistics.Phase.SNIFF, System.nanoTime() - start );
         if( metamodelName.isPresent() ) {
             res = createRiseClipseResource( uri, contentType );
         }
         if(( res == null ) && ! strictContent ) {
-            res = super.createResource( uri, contentType );
+            Resource.Factory factory = getResourceFactoryRegistry().getFactory( uri, contentType );
+            if( factory != null ) {
+                res = factory.createResource( uri );
+            }
         }
-        if( res != null ) {
-            getResources().add( res );
+        return new NewResource( res, metamodelName );
+    }
+
+    /*
+     * The list of resources is modified by one thread at a time, holding the lock on the map of URIs
+     */
+    private @NonNull Resource addResource( @NonNull NewResource created ) {
+        getResources().add( created.resource );
+        if( created.metamodelName.isPresent() && ( created.resource instanceof IRiseClipseResource r )) {
+            riseClipseResources.setMetamodel( r, created.metamodelName.get() );
         }
-        return res;
+        return created.resource;
     }
 
     protected abstract @NonNull IRiseClipseResource createRiseClipseResource( @NonNull URI uri, @NonNull String contentType );
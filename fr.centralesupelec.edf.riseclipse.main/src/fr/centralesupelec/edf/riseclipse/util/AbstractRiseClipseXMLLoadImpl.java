@@ -21,28 +21,92 @@
 package fr.centralesupelec.edf.riseclipse.util;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
 
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
 
 import org.eclipse.emf.ecore.xmi.XMLHelper;
+import org.eclipse.emf.ecore.xmi.XMLResource;
 import org.eclipse.emf.ecore.xmi.impl.XMLLoadImpl;
+import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 
 public abstract class AbstractRiseClipseXMLLoadImpl extends XMLLoadImpl {
 
+    // Getting a SAXParserFactory needs a service lookup, it is done once
+    private static SAXParserFactory parserFactory;
+    
+    // Parsers are reused by later loads, possibly in other threads
+    private static final int MAX_POOLED_PARSERS = 32;
+    private static final ArrayBlockingQueue< SAXParser > parserPool = new ArrayBlockingQueue<>( MAX_POOLED_PARSERS );
+    
+    // The parser used by this load, to be given back to the pool at the end
+    private SAXParser parser;
+
     protected AbstractRiseClipseXMLLoadImpl( XMLHelper helper ) {
         super( helper );
     }
 
     @Override
     protected SAXParser makeParser() throws ParserConfigurationException, SAXException {
-        SAXParserFactory f = SAXParserFactory.newInstance();
-        // Sonar: XML parsers should not be vulnerable to XXE attacks (java:S2755)
-        f.setFeature( "http://apache.org/xml/features/disallow-doctype-decl", true );
-        f.setNamespaceAware( true );
-        return f.newSAXParser();
+        parser = parserPool.poll();
+        if( parser == null ) {
+            parser = newParser();
+        }
+        return parser;
+    }
+
+    // SAXParserFactory is not guaranteed to be thread-safe
+    private static synchronized SAXParser newParser() throws ParserConfigurationException, SAXException {
+        if( parserFactory == null ) {
+            SAXParserFactory f = SAXParserFactory.newInstance();
+            // Sonar: XML parsers should not be vulnerable to XXE attacks (java:S2755)
+            f.setFeature( "http://apache.org/xml/features/disallow-doctype-decl", true );
+            f.setNamespaceAware( true );
+            parserFactory = f;
+        }
+        return parserFactory.newSAXParser();
+    }
+
+    @Override
+    public void load( XMLResource resource, InputStream inputStream, Map< ?, ? > options ) throws IOException {
+        try {
+            super.load( resource, inputStream, options );
+        }
+        finally {
+            releaseParser();
+        }
+    }
+
+    @Override
+    public void load( XMLResource resource, InputSource inputSource, Map< ?, ? > options ) throws IOException {
+        try {
+            super.load( resource, inputSource, options );
+        }
+        finally {
+            releaseParser();
+        }
+    }
+
+    /*
+     * Features and properties set by XMLLoadImpl are removed by reset(),
+     * the parser is back to the configuration given by the factory.
+     */
+    private void releaseParser() {
+        if( parser == null ) return;
+        try {
+            parser.reset();
+            // Parser is dropped if pool is full
+            parserPool.offer( parser );
+        }
+        catch( UnsupportedOperationException e ) {
+            // reset() not supported, parser cannot be reused
+        }
+        parser = null;
     }
 
     /*
@@ -0,0 +1,216 @@
+/*
+*************************************************************************
+**  Copyright (c) 2026 CentraleSupélec & EDF.
+**  All rights reserved. This program and the accompanying materials
+**  are made available under the terms of the Eclipse Public License v2.0
+**  which accompanies this distribution, and is available at
+**  https://www.eclipse.org/legal/epl-v20.html
+** 
+**  This file is part of the RiseClipse tool
+**  
+**  Contributors:
+**      Computer Science Department, CentraleSupélec
+**      EDF R&D
+**  Contacts:
+**      dominique.marcadet@centralesupelec.fr
+**      aurelie.dehouck-neveu@edf.fr
+**  Web site:
+**      https://riseclipse.github.io
+*************************************************************************
+*/
+package fr.centralesupelec.edf.riseclipse.util;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * RiseClipse console writing messages as binary records, to be read by programs
+ * using {@link BinaryRiseClipseConsoleReader} instead of parsing formatted text.
+ *
+ * The stream starts with {@link #MAGIC} and {@link #VERSION} (two ints), then each
+ * message is a record made of its length in bytes (an int, not included) followed by
+ * the severity ordinal (a byte), the line number (an int), then category, filename
+ * and message text, each as a length (an int) followed by UTF-8 bytes.
+ * Ints are big-endian, as written by DataOutputStream.
+ *
+ * Records are buffered; buffered records are written when the JVM exits if the console
+ * has not been closed, so that the stream ends with a complete record.
+ *
+ * The format string is kept but not used. The console does not replace the global one,
+ * use {@link AbstractRiseClipseConsole#changeConsole(IRiseClipseConsole)} if needed.
+ */
+public class BinaryRiseClipseConsole implements IRiseClipseConsole, Closeable {
+
+    /**
+     * First int of the stream ("RCMS")
+     */
+    public static final int MAGIC = 0x52434D53;
+    /**
+     * Version of the format, second int of the stream
+     */
+    public static final int VERSION = 1;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final @NonNull DataOutputStream out;
+    private volatile @NonNull Severity currentLevel = Severity.WARNING;
+    private volatile @NonNull String formatString = "%6$s%1$-8s%7$s: [%2$s] %4$s (%5$s:%3$d)";
+    private volatile DuplicateMessageFilter displayedMessages;
+    private IOException error;
+    // Registered with the first record, guarded by out
+    private Thread shutdownHook;
+    private boolean closed;
+
+    /**
+     * @param out the stream where records are written, it will be closed by {@link #close()}
+     * @throws IOException if the header cannot be written
+     */
+    public BinaryRiseClipseConsole( @NonNull OutputStream out ) throws IOException {
+        this.out = new DataOutputStream( new BufferedOutputStream( out, BUFFER_SIZE ));
+        this.out.writeInt( MAGIC );
+        this.out.writeInt( VERSION );
+    }
+
+    /**
+     * @param name the name of the file where records are written
+     * @throws IOException if the file cannot be created
+     */
+    public BinaryRiseClipseConsole( @NonNull String name ) throws IOException {
+        this( new FileOutputStream( name ));
+    }
+
+    @Override
+    public @NonNull Severity getLevel() {
+        return currentLevel;
+    }
+
+    @Override
+    public @NonNull Severity setLevel( @NonNull Severity level ) {
+        Severity previousLevel = currentLevel;
+        currentLevel = level;
+        return previousLevel;
+    }
+
+    @Override
+    public @NonNull String getFormatString() {
+        return formatString;
+    }
+
+    @Override
+    public @NonNull String setFormatString( @NonNull String formatString ) {
+        String oldFormat = this.formatString;
+        this.formatString = formatString;
+        return oldFormat;
+    }
+
+    @Override
+    public void output( @NonNull RiseClipseMessage message ) {
+        if( ! isEnabled( message.getSeverity() )) return;
+        String text = message.getMessage();
+        synchronized( out ) {
+            DuplicateMessageFilter filter = displayedMessages;
+            if(( filter != null ) && filter.isDuplicate( message, text )) {
+                return;
+            }
+            if(( shutdownHook == null ) && ! closed ) {
+                // Not done by the constructor, so that the hook never sees a partially constructed console
+                shutdownHook = new Thread( this::flushAtShutdown, "RiseClipse binary console flush" );
+                Runtime.getRuntime().addShutdownHook( shutdownHook );
+            }
+            byte[] category = message.getCategory().getBytes( StandardCharsets.UTF_8 );
+            byte[] filename = message.getFilename().getBytes( StandardCharsets.UTF_8 );
+            byte[] bytes = text.getBytes( StandardCharsets.UTF_8 );
+            try {
+                out.writeInt( 1 + 4 + 4 + category.length + 4 + filename.length + 4 + bytes.length );
+                out.writeByte( message.getSeverity().ordinal() );
+                out.writeInt( message.getLineNumber() );
+                writeBytes( category );
+                writeBytes( filename );
+                writeBytes( bytes );
+                if( message.getSeverity() == Severity.EMERGENCY ) {
+                    // Will be followed by exit
+                    out.flush();
+                }
+            }
+            catch( IOException e ) {
+                if( error == null ) error = e;
+            }
+        }
+    }
+
+    private void writeBytes( byte[] bytes ) throws IOException {
+        out.writeInt( bytes.length );
+        out.write( bytes );
+    }
+
+    /*
+     * Buffered records would be lost if the JVM exits without close(), for example with System.exit()
+     */
+    private void flushAtShutdown() {
+        synchronized( out ) {
+            if( closed ) return;
+            try {
+                out.flush();
+            }
+            catch( IOException e ) {
+                if( error == null ) error = e;
+            }
+        }
+    }
+
+    /**
+     * @return the first exception got when writing, null if none
+     */
+    public IOException getError() {
+        synchronized( out ) {
+            return error;
+        }
+    }
+
+    /**
+     * Write buffered records
+     *
+     * @throws IOException if the stream cannot be written
+     */
+    public void flush() throws IOException {
+        synchronized( out ) {
+            out.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        Thread hook;
+        synchronized( out ) {
+            closed = true;
+            hook = shutdownHook;
+            out.close();
+        }
+        if(( hook != null ) && ( Thread.currentThread() != hook )) {
+            try {
+                Runtime.getRuntime().removeShutdownHook( hook );
+            }
+            catch( IllegalStateException e ) {
+                // JVM is already shutting down
+            }
+        }
+    }
+
+    @Override
+    public void displayIdenticalMessages() {
+        displayedMessages = null;
+    }
+
+    @Override
+    public void doNotDisplayIdenticalMessages() {
+        displayedMessages = new DuplicateMessageFilter( 0, false );
+    }
+
+}
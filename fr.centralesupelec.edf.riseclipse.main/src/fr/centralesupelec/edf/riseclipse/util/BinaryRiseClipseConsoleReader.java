@@ -0,0 +1,138 @@
+/*
+*************************************************************************
+**  Copyright (c) 2026 CentraleSupélec & EDF.
+**  All rights reserved. This program and the accompanying materials
+**  are made available under the terms of the Eclipse Public License v2.0
+**  which accompanies this distribution, and is available at
+**  https://www.eclipse.org/legal/epl-v20.html
+** 
+**  This file is part of the RiseClipse tool
+**  
+**  Contributors:
+**      Computer Science Department, CentraleSupélec
+**      EDF R&D
+**  Contacts:
+**      dominique.marcadet@centralesupelec.fr
+**      aurelie.dehouck-neveu@edf.fr
+**  Web site:
+**      https://riseclipse.github.io
+*************************************************************************
+*/
+package fr.centralesupelec.edf.riseclipse.util;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * Reader of the messages written by a {@link BinaryRiseClipseConsole}.
+ */
+public class BinaryRiseClipseConsoleReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final Severity[] SEVERITIES = Severity.values();
+
+    private final @NonNull DataInputStream in;
+
+    /**
+     * @param in the stream to read, it will be closed by {@link #close()}
+     * @throws IOException if the stream does not start with a valid header
+     */
+    public BinaryRiseClipseConsoleReader( @NonNull InputStream in ) throws IOException {
+        this.in = new DataInputStream( new BufferedInputStream( in, BUFFER_SIZE ));
+        if( this.in.readInt() != BinaryRiseClipseConsole.MAGIC ) {
+            throw new IOException( "Not a stream of RiseClipse messages" );
+        }
+        int version = this.in.readInt();
+        if( version != BinaryRiseClipseConsole.VERSION ) {
+            throw new IOException( "Unsupported version " + version + " of RiseClipse messages" );
+        }
+    }
+
+    /**
+     * @param name the name of the file to read
+     * @throws IOException if the file cannot be opened or does not start with a valid header
+     */
+    public BinaryRiseClipseConsoleReader( @NonNull String name ) throws IOException {
+        this( new FileInputStream( name ));
+    }
+
+    /**
+     * Read the next message.
+     *
+     * @return the message, or null at end of stream
+     * @throws IOException if the stream cannot be read or is truncated
+     */
+    public RiseClipseMessage read() throws IOException {
+        int length;
+        try {
+            length = in.readInt();
+        }
+        catch( EOFException e ) {
+            return null;
+        }
+        if( length < 0 ) {
+            throw new IOException( "Invalid record length " + length );
+        }
+        byte[] record = new byte[length];
+        in.readFully( record );
+        // Fields added by later versions at the end of the record are ignored
+        ByteBuffer buffer = ByteBuffer.wrap( record );
+        try {
+            int ordinal = buffer.get() & 0xFF;
+            if( ordinal >= SEVERITIES.length ) {
+                throw new IOException( "Invalid severity " + ordinal );
+            }
+            int lineNumber = buffer.getInt();
+            String category = readString( buffer );
+            String filename = readString( buffer );
+            String text = readString( buffer );
+            return new RiseClipseMessage( SEVERITIES[ordinal], category, filename, lineNumber, text );
+        }
+        catch( BufferUnderflowException | IndexOutOfBoundsException e ) {
+            throw new IOException( "Invalid record", e );
+        }
+    }
+
+    private static @NonNull String readString( @NonNull ByteBuffer buffer ) throws IOException {
+        int length = buffer.getInt();
+        if( length < 0 ) {
+            throw new IOException( "Invalid string length " + length );
+        }
+        String s = new String( buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8 );
+        buffer.position( buffer.position() + length );
+        return s;
+    }
+
+    /**
+     * Read all remaining messages and output them on the given console.
+     *
+     * @param console the console receiving the messages
+     * @return the number of messages read
+     * @throws IOException if the stream cannot be read or is truncated
+     */
+    public long replayTo( @NonNull IRiseClipseConsole console ) throws IOException {
+        long count = 0;
+        RiseClipseMessage message;
+        while(( message = read() ) != null ) {
+            console.output( message );
+            ++count;
+        }
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+*************************************************************************
+**  Copyright (c) 2026 CentraleSupélec & EDF.
+**  All rights reserved. This program and the accompanying materials
+**  are made available under the terms of the Eclipse Public License v2.0
+**  which accompanies this distribution, and is available at
+**  https://www.eclipse.org/legal/epl-v20.html
+** 
+**  This file is part of the RiseClipse tool
+**  
+**  Contributors:
+**      Computer Science Department, CentraleSupélec
+**      EDF R&D
+**  Contacts:
+**      dominique.marcadet@centralesupelec.fr
+**      aurelie.dehouck-neveu@edf.fr
+**  Web site:
+**      https://riseclipse.github.io
+*************************************************************************
+*/
+package fr.centralesupelec.edf.riseclipse.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * RiseClipse console keeping messages until they are flushed to a parent console.
+ *
+ * It is intended to be used by a single task (for example the loading of a resource),
+ * so that its messages are output together and in order, even if other tasks run
+ * concurrently. The level is initialized from the parent, format string and duplicate
+ * suppression are those of the parent.
+ * This class is not thread safe.
+ */
+public class BufferedRiseClipseConsole implements IRiseClipseConsole {
+
+    private final @NonNull IRiseClipseConsole parent;
+    private @NonNull Severity currentLevel;
+    private final @NonNull List< RiseClipseMessage > messages = new ArrayList<>();
+
+    /**
+     * @param parent the console which will receive the messages
+     */
+    public BufferedRiseClipseConsole( @NonNull IRiseClipseConsole parent ) {
+        this.parent = parent;
+        this.currentLevel = parent.getLevel();
+    }
+
+    public @NonNull IRiseClipseConsole getParent() {
+        return parent;
+    }
+
+    @Override
+    public @NonNull Severity getLevel() {
+        return currentLevel;
+    }
+
+    @Override
+    public @NonNull Severity setLevel( @NonNull Severity level ) {
+        Severity previousLevel = currentLevel;
+        currentLevel = level;
+        return previousLevel;
+    }
+
+    @Override
+    public @NonNull String getFormatString() {
+        return parent.getFormatString();
+    }
+
+    @Override
+    public @NonNull String setFormatString( @NonNull String formatString ) {
+        return parent.setFormatString( formatString );
+    }
+
+    /**
+     * Messages are kept, even if an emergency one is output: they are flushed before exiting.
+     */
+    @Override
+    public void emergency( @NonNull String category, int lineNumber, @NonNull Object... messageParts ) {
+        flush();
+        parent.emergency( category, lineNumber, messageParts );
+    }
+
+    @Override
+    public void emergency( @NonNull String category, @NonNull String filename, int lineNumber, @NonNull Object... messageParts ) {
+        flush();
+        parent.emergency( category, filename, lineNumber, messageParts );
+    }
+
+    @Override
+    public void output( @NonNull RiseClipseMessage message ) {
+        if( isEnabled( message.getSeverity() )) {
+            messages.add( message );
+        }
+        else {
+            parent.filtered( message.getSeverity(), message.getCategory() );
+        }
+    }
+
+    /**
+     * @return the messages not yet flushed, in order of output
+     */
+    public @NonNull List< RiseClipseMessage > getMessages() {
+        return Collections.unmodifiableList( messages );
+    }
+
+    /**
+     * Output the kept messages on the parent console, in order, and forget them.
+     * If the parent is a {@link ConcurrentRiseClipseConsole}, messages of other threads
+     * are not mixed with them.
+     */
+    public void flush() {
+        if( messages.isEmpty() ) return;
+        if( parent instanceof ConcurrentRiseClipseConsole concurrentParent ) {
+            concurrentParent.outputAll( messages );
+        }
+        else {
+            messages.forEach( parent::output );
+        }
+        messages.clear();
+    }
+
+    @Override
+    public void filtered( @NonNull Severity severity, @NonNull String category ) {
+        parent.filtered( severity, category );
+    }
+
+    @Override
+    public void displayIdenticalMessages() {
+        parent.displayIdenticalMessages();
+    }
+
+    @Override
+    public void doNotDisplayIdenticalMessages() {
+        parent.doNotDisplayIdenticalMessages();
+    }
+
+}
@@ -0,0 +1,304 @@
+/*
+*************************************************************************
+**  Copyright (c) 2026 CentraleSupélec & EDF.
+**  All rights reserved. This program and the accompanying materials
+**  are made available under the terms of the Eclipse Public License v2.0
+**  which accompanies this distribution, and is available at
+**  https://www.eclipse.org/legal/epl-v20.html
+** 
+**  This file is part of the RiseClipse tool
+**  
+**  Contributors:
+**      Computer Science Department, CentraleSupélec
+**      EDF R&D
+**  Contacts:
+**      dominique.marcadet@centralesupelec.fr
+**      aurelie.dehouck-neveu@edf.fr
+**  Web site:
+**      https://riseclipse.github.io
+*************************************************************************
+*/
+package fr.centralesupelec.edf.riseclipse.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntUnaryOperator;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * RiseClipse console keeping messages in memory, to be queried by programs.
+ *
+ * Messages are stored by columns: severity as a byte, category and filename as indexes
+ * in tables of distinct values, line number as an int, and text as a String. A message
+ * is designated by its index, in order of output.
+ * The format string is kept but not used. The console does not replace the global one,
+ * use {@link AbstractRiseClipseConsole#changeConsole(IRiseClipseConsole)} if needed.
+ */
+public class CollectingRiseClipseConsole implements IRiseClipseConsole {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final Severity[] SEVERITIES = Severity.values();
+
+    private volatile @NonNull Severity currentLevel = Severity.WARNING;
+    private volatile @NonNull String formatString = "%6$s%1$-8s%7$s: [%2$s] %4$s (%5$s:%3$d)";
+    private DuplicateMessageFilter displayedMessages;
+
+    private int size;
+    private byte[] severities = new byte[INITIAL_CAPACITY];
+    private int[] categories = new int[INITIAL_CAPACITY];
+    private int[] filenames = new int[INITIAL_CAPACITY];
+    private int[] lineNumbers = new int[INITIAL_CAPACITY];
+    private String[] texts = new String[INITIAL_CAPACITY];
+
+    private final List< String > categoryValues = new ArrayList<>();
+    private final Map< String, Integer > categoryIndexes = new HashMap<>();
+    private final List< String > filenameValues = new ArrayList<>();
+    private final Map< String, Integer > filenameIndexes = new HashMap<>();
+
+    @Override
+    public @NonNull Severity getLevel() {
+        return currentLevel;
+    }
+
+    @Override
+    public @NonNull Severity setLevel( @NonNull Severity level ) {
+        Severity previousLevel = currentLevel;
+        currentLevel = level;
+        return previousLevel;
+    }
+
+    @Override
+    public @NonNull String getFormatString() {
+        return formatString;
+    }
+
+    @Override
+    public @NonNull String setFormatString( @NonNull String formatString ) {
+        String oldFormat = this.formatString;
+        this.formatString = formatString;
+        return oldFormat;
+    }
+
+    @Override
+    public synchronized void output( @NonNull RiseClipseMessage message ) {
+        if( ! isEnabled( message.getSeverity() )) return;
+        String text = message.getMessage();
+        if(( displayedMessages != null ) && displayedMessages.isDuplicate( message, text )) {
+            return;
+        }
+        if( size == severities.length ) {
+            int capacity = 2 * size;
+            severities = Arrays.copyOf( severities, capacity );
+            categories = Arrays.copyOf( categories, capacity );
+            filenames = Arrays.copyOf( filenames, capacity );
+            lineNumbers = Arrays.copyOf( lineNumbers, capacity );
+            texts = Arrays.copyOf( texts, capacity );
+        }
+        severities[size] = ( byte ) message.getSeverity().ordinal();
+        categories[size] = intern( message.getCategory(), categoryValues, categoryIndexes );
+        filenames[size] = intern( message.getFilename(), filenameValues, filenameIndexes );
+        lineNumbers[size] = message.getLineNumber();
+        texts[size] = text;
+        ++size;
+    }
+
+    private static int intern( @NonNull String value, @NonNull List< String > values, @NonNull Map< String, Integer > indexes ) {
+        return indexes.computeIfAbsent( value, v -> {
+            values.add( v );
+            return values.size() - 1;
+        });
+    }
+
+    /**
+     * @return the number of kept messages
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Forget all kept messages
+     */
+    public synchronized void clear() {
+        size = 0;
+        severities = new byte[INITIAL_CAPACITY];
+        categories = new int[INITIAL_CAPACITY];
+        filenames = new int[INITIAL_CAPACITY];
+        lineNumbers = new int[INITIAL_CAPACITY];
+        texts = new String[INITIAL_CAPACITY];
+        categoryValues.clear();
+        categoryIndexes.clear();
+        filenameValues.clear();
+        filenameIndexes.clear();
+    }
+
+    public synchronized @NonNull Severity getSeverity( int index ) {
+        checkIndex( index );
+        return SEVERITIES[severities[index]];
+    }
+
+    public synchronized @NonNull String getCategory( int index ) {
+        checkIndex( index );
+        return categoryValues.get( categories[index] );
+    }
+
+    public synchronized @NonNull String getFilename( int index ) {
+        checkIndex( index );
+        return filenameValues.get( filenames[index] );
+    }
+
+    public synchronized int getLineNumber( int index ) {
+        checkIndex( index );
+        return lineNumbers[index];
+    }
+
+    public synchronized @NonNull String getMessage( int index ) {
+        checkIndex( index );
+        return texts[index];
+    }
+
+    /**
+     * @param index the index of a kept message
+     * @return a new RiseClipseMessage with the fields of the kept message
+     */
+    public synchronized @NonNull RiseClipseMessage getRiseClipseMessage( int index ) {
+        checkIndex( index );
+        return new RiseClipseMessage( SEVERITIES[severities[index]], categoryValues.get( categories[index] ),
+                filenameValues.get( filenames[index] ), lineNumbers[index], texts[index] );
+    }
+
+    private void checkIndex( int index ) {
+        if(( index < 0 ) || ( index >= size )) {
+            throw new IndexOutOfBoundsException( index );
+        }
+    }
+
+    /**
+     * Select kept messages. A null criterion is not used.
+     *
+     * @param level     only messages of this severity or a more severe one are selected
+     * @param category  only messages of this category are selected
+     * @param filename  only messages of this file are selected
+     * @param firstLine only messages with a greater or equal line number are selected
+     * @param lastLine  only messages with a lower or equal line number are selected
+     * @return the indexes of selected messages, in order of output
+     */
+    public synchronized @NonNull int[] select( Severity level, String category, String filename, int firstLine, int lastLine ) {
+        int maxSeverity = ( level == null ) ? SEVERITIES.length - 1 : level.ordinal();
+        int categoryIndex = -1;
+        if( category != null ) {
+            Integer i = categoryIndexes.get( category );
+            if( i == null ) return new int[0];
+            categoryIndex = i;
+        }
+        int filenameIndex = -1;
+        if( filename != null ) {
+            Integer i = filenameIndexes.get( filename );
+            if( i == null ) return new int[0];
+            filenameIndex = i;
+        }
+        int[] selection = new int[size];
+        int n = 0;
+        for( int i = 0; i < size; ++i ) {
+            if(( severities[i] <= maxSeverity )
+                    && (( categoryIndex == -1 ) || ( categories[i] == categoryIndex ))
+                    && (( filenameIndex == -1 ) || ( filenames[i] == filenameIndex ))
+                    && ( lineNumbers[i] >= firstLine ) && ( lineNumbers[i] <= lastLine )) {
+                selection[n++] = i;
+            }
+        }
+        return Arrays.copyOf( selection, n );
+    }
+
+    /**
+     * @return the number of kept messages for each severity, only severities with messages are present
+     */
+    public @NonNull Map< Severity, Integer > countBySeverity() {
+        return countBySeverity( null );
+    }
+
+    /**
+     * @param selection indexes of messages to count, as given by {@link #select(Severity, String, String, int, int)}, null for all
+     * @return the number of selected messages for each severity, only severities with messages are present
+     */
+    public synchronized @NonNull Map< Severity, Integer > countBySeverity( int[] selection ) {
+        int[] counts = count( SEVERITIES.length, selection, i -> severities[i] );
+        Map< Severity, Integer > result = new EnumMap<>( Severity.class );
+        for( int s = 0; s < SEVERITIES.length; ++s ) {
+            if( counts[s] > 0 ) result.put( SEVERITIES[s], counts[s] );
+        }
+        return result;
+    }
+
+    /**
+     * @return the number of kept messages for each category, in order of first output
+     */
+    public @NonNull Map< String, Integer > countByCategory() {
+        return countByCategory( null );
+    }
+
+    /**
+     * @param selection indexes of messages to count, as given by {@link #select(Severity, String, String, int, int)}, null for all
+     * @return the number of selected messages for each category, in order of first output
+     */
+    public synchronized @NonNull Map< String, Integer > countByCategory( int[] selection ) {
+        return toMap( count( categoryValues.size(), selection, i -> categories[i] ), categoryValues );
+    }
+
+    /**
+     * @return the number of kept messages for each file, in order of first output
+     */
+    public @NonNull Map< String, Integer > countByFilename() {
+        return countByFilename( null );
+    }
+
+    /**
+     * @param selection indexes of messages to count, as given by {@link #select(Severity, String, String, int, int)}, null for all
+     * @return the number of selected messages for each file, in order of first output
+     */
+    public synchronized @NonNull Map< String, Integer > countByFilename( int[] selection ) {
+        return toMap( count( filenameValues.size(), selection, i -> filenames[i] ), filenameValues );
+    }
+
+    /*
+     * Number of messages for each value of a column
+     */
+    private int[] count( int numberOfValues, int[] selection, IntUnaryOperator column ) {
+        int[] counts = new int[numberOfValues];
+        if( selection == null ) {
+            for( int i = 0; i < size; ++i ) ++counts[column.applyAsInt( i )];
+        }
+        else {
+            for( int i : selection ) {
+                checkIndex( i );
+                ++counts[column.applyAsInt( i )];
+            }
+        }
+        return counts;
+    }
+
+    private static @NonNull Map< String, Integer > toMap( int[] counts, @NonNull List< String > values ) {
+        Map< String, Integer > result = new LinkedHashMap<>();
+        for( int v = 0; v < values.size(); ++v ) {
+            if( counts[v] > 0 ) result.put( values.get( v ), counts[v] );
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized void displayIdenticalMessages() {
+        displayedMessages = null;
+    }
+
+    @Override
+    public synchronized void doNotDisplayIdenticalMessages() {
+        displayedMessages = new DuplicateMessageFilter( 0, false );
+    }
+
+}
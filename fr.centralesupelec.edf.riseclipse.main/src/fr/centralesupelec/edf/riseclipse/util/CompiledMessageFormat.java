@@ -0,0 +1,207 @@
+/*
+*************************************************************************
+**  Copyright (c) 2026 CentraleSupélec & EDF.
+**  All rights reserved. This program and the accompanying materials
+**  are made available under the terms of the Eclipse Public License v2.0
+**  which accompanies this distribution, and is available at
+**  https://www.eclipse.org/legal/epl-v20.html
+** 
+**  This file is part of the RiseClipse tool
+**  
+**  Contributors:
+**      Computer Science Department, CentraleSupélec
+**      EDF R&D
+**  Contacts:
+**      dominique.marcadet@centralesupelec.fr
+**      aurelie.dehouck-neveu@edf.fr
+**  Web site:
+**      https://riseclipse.github.io
+*************************************************************************
+*/
+package fr.centralesupelec.edf.riseclipse.util;
+
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * Format string of a console, compiled once to format messages without a java.util.Formatter.
+ *
+ * Only the subset of the Formatter syntax useful for messages is handled: literal text,
+ * {@code %%}, {@code %n}, and {@code %s} or {@code %d} conversions, with an optional
+ * argument index, an optional {@code -} flag and an optional width. The result is the
+ * same as the one given by Formatter with the same arguments.
+ * See {@link IRiseClipseConsole#setFormatString(String)} for the arguments.
+ */
+final class CompiledMessageFormat {
+
+    private static final int NUMBER_OF_ARGUMENTS = 7;
+    private static final int LINE_NUMBER_ARGUMENT = 3;
+
+    /*
+     * A literal text if text is not null, a conversion otherwise
+     */
+    private static final class Segment {
+        private final String text;
+        private final int argument;
+        private final int width;
+        private final boolean leftJustify;
+
+        Segment( String text ) {
+            this.text = text;
+            this.argument = 0;
+            this.width = -1;
+            this.leftJustify = false;
+        }
+
+        Segment( int argument, int width, boolean leftJustify ) {
+            this.text = null;
+            this.argument = argument;
+            this.width = width;
+            this.leftJustify = leftJustify;
+        }
+    }
+
+    private final Segment[] segments;
+    // Formatter uses the digits of the default locale, checked at formatting
+    private final Locale locale;
+
+    private CompiledMessageFormat( @NonNull List< Segment > segments, @NonNull Locale locale ) {
+        this.segments = segments.toArray( new Segment[0] );
+        this.locale = locale;
+    }
+
+    /**
+     * Compile the given format string.
+     *
+     * @param formatString a format string valid for java.util.Formatter with the console arguments
+     * @return the compiled format, or null if the format string uses something not handled
+     */
+    static CompiledMessageFormat compile( @NonNull String formatString ) {
+        Locale locale = Locale.getDefault( Locale.Category.FORMAT );
+        if( DecimalFormatSymbols.getInstance( locale ).getZeroDigit() != '0' ) {
+            return null;
+        }
+        List< Segment > segments = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        int ordinaryIndex = 0;
+        int i = 0;
+        int n = formatString.length();
+        while( i < n ) {
+            char c = formatString.charAt( i++ );
+            if( c != '%' ) {
+                text.append( c );
+                continue;
+            }
+            // Optional argument index or width
+            int start = i;
+            while(( i < n ) && Character.isDigit( formatString.charAt( i ))) ++i;
+            int argument = -1;
+            if(( i > start ) && ( i < n ) && ( formatString.charAt( i ) == '$' )) {
+                argument = Integer.parseInt( formatString.substring( start, i ));
+                ++i;
+                start = i;
+            }
+            else {
+                i = start;
+            }
+            // Optional flag
+            boolean leftJustify = false;
+            if(( i < n ) && ( formatString.charAt( i ) == '-' )) {
+                leftJustify = true;
+                ++i;
+            }
+            // Optional width
+            start = i;
+            while(( i < n ) && Character.isDigit( formatString.charAt( i ))) ++i;
+            int width = -1;
+            if( i > start ) {
+                if( formatString.charAt( start ) == '0' ) return null;
+                width = Integer.parseInt( formatString.substring( start, i ));
+            }
+            if( i >= n ) return null;
+            char conversion = formatString.charAt( i++ );
+            if(( conversion == '%' ) || ( conversion == 'n' )) {
+                if(( argument != -1 ) || leftJustify || ( width != -1 )) return null;
+                text.append( conversion == '%' ? "%" : System.lineSeparator() );
+                continue;
+            }
+            if( leftJustify && ( width == -1 )) return null;
+            if( argument == -1 ) {
+                argument = ++ordinaryIndex;
+            }
+            if(( argument < 1 ) || ( argument > NUMBER_OF_ARGUMENTS )) return null;
+            if(( conversion == 'd' ) != ( argument == LINE_NUMBER_ARGUMENT )) {
+                // %s is allowed for the line number, but not handled
+                return null;
+            }
+            if(( conversion != 's' ) && ( conversion != 'd' )) return null;
+            if( text.length() > 0 ) {
+                segments.add( new Segment( text.toString() ));
+                text.setLength( 0 );
+            }
+            segments.add( new Segment( argument, width, leftJustify ));
+        }
+        if( text.length() > 0 ) {
+            segments.add( new Segment( text.toString() ));
+        }
+        return new CompiledMessageFormat( segments, locale );
+    }
+
+    /**
+     * @return false if the default locale has changed since compilation, the format must not be used
+     */
+    boolean isValid() {
+        return locale == Locale.getDefault( Locale.Category.FORMAT );
+    }
+
+    /**
+     * Append the formatted message to sb.
+     */
+    void formatTo( @NonNull StringBuilder sb, @NonNull Severity severity, @NonNull String category, int lineNumber,
+            @NonNull String message, @NonNull String filename, @NonNull String colorStart, @NonNull String colorEnd ) {
+        for( Segment segment : segments ) {
+            if( segment.text != null ) {
+                sb.append( segment.text );
+                continue;
+            }
+            int start = sb.length();
+            switch( segment.argument ) {
+            case 1 :
+                sb.append( severity );
+                break;
+            case 2 :
+                sb.append( category );
+                break;
+            case 3 :
+                sb.append( lineNumber );
+                break;
+            case 4 :
+                sb.append( message );
+                break;
+            case 5 :
+                sb.append( filename );
+                break;
+            case 6 :
+                sb.append( colorStart );
+                break;
+            default :
+                sb.append( colorEnd );
+                break;
+            }
+            int padding = segment.width - ( sb.length() - start );
+            if( padding > 0 ) {
+                if( segment.leftJustify ) {
+                    sb.repeat( ' ', padding );
+                }
+                else {
+                    sb.insert( start, " ".repeat( padding ));
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,155 @@
+/*
+*************************************************************************
+**  Copyright (c) 2026 CentraleSupélec & EDF.
+**  All rights reserved. This program and the accompanying materials
+**  are made available under the terms of the Eclipse Public License v2.0
+**  which accompanies this distribution, and is available at
+**  https://www.eclipse.org/legal/epl-v20.html
+** 
+**  This file is part of the RiseClipse tool
+**  
+**  Contributors:
+**      Computer Science Department, CentraleSupélec
+**      EDF R&D
+**  Contacts:
+**      dominique.marcadet@centralesupelec.fr
+**      aurelie.dehouck-neveu@edf.fr
+**  Web site:
+**      https://riseclipse.github.io
+*************************************************************************
+*/
+package fr.centralesupelec.edf.riseclipse.util;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * RiseClipse console which can be used by many threads at the same time.
+ *
+ * Messages are put in a lock-free queue; the thread which gets the lock (without
+ * waiting for it) outputs all queued messages on the target console, so that the
+ * target is used by one thread at a time and threads outputting messages are never
+ * blocked by a slow output. Messages of a given thread keep their order.
+ * Each task can use its own console given by {@link #newTaskConsole()}: its messages
+ * are output together when it is flushed.
+ * Level, format string and duplicate suppression are those of the target.
+ */
+public class ConcurrentRiseClipseConsole implements IRiseClipseConsole {
+
+    private final @NonNull IRiseClipseConsole target;
+    private final Queue< List< RiseClipseMessage >> queue = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock outputLock = new ReentrantLock();
+
+    /**
+     * The new console does not replace the current one, use
+     * {@link AbstractRiseClipseConsole#changeConsole(IRiseClipseConsole)} if needed.
+     *
+     * @param target the console which will display the messages
+     */
+    public ConcurrentRiseClipseConsole( @NonNull IRiseClipseConsole target ) {
+        this.target = target;
+    }
+
+    public @NonNull IRiseClipseConsole getTarget() {
+        return target;
+    }
+
+    /**
+     * @return a new console for a task, whose messages will be output on this one when flushed
+     */
+    public @NonNull BufferedRiseClipseConsole newTaskConsole() {
+        return new BufferedRiseClipseConsole( this );
+    }
+
+    @Override
+    public @NonNull Severity getLevel() {
+        return target.getLevel();
+    }
+
+    @Override
+    public @NonNull Severity setLevel( @NonNull Severity level ) {
+        return target.setLevel( level );
+    }
+
+    @Override
+    public @NonNull String getFormatString() {
+        return target.getFormatString();
+    }
+
+    @Override
+    public @NonNull String setFormatString( @NonNull String formatString ) {
+        return target.setFormatString( formatString );
+    }
+
+    @Override
+    public void output( @NonNull RiseClipseMessage message ) {
+        if( ! isEnabled( message.getSeverity() )) {
+            target.filtered( message.getSeverity(), message.getCategory() );
+            return;
+        }
+        queue.offer( List.of( message ));
+        // An emergency message is followed by exit, it must be output before
+        drain( message.getSeverity() == Severity.EMERGENCY );
+    }
+
+    /**
+     * Output the given messages, in order, without messages of other threads between them.
+     *
+     * @param messages the messages to output
+     */
+    public void outputAll( @NonNull List< RiseClipseMessage > messages ) {
+        if( messages.isEmpty() ) return;
+        queue.offer( List.copyOf( messages ));
+        drain( false );
+    }
+
+    /**
+     * Wait until all queued messages are output on the target.
+     */
+    public void flush() {
+        drain( true );
+    }
+
+    private void drain( boolean wait ) {
+        do {
+            if( wait ) {
+                outputLock.lock();
+            }
+            else if( ! outputLock.tryLock() ) {
+                // The owner of the lock will output our messages
+                return;
+            }
+            try {
+                List< RiseClipseMessage > messages;
+                while(( messages = queue.poll() ) != null ) {
+                    messages.forEach( target::output );
+                }
+            }
+            finally {
+                outputLock.unlock();
+            }
+            // Messages may have been queued after the last poll by threads which did not get the lock
+        }
+        while( ! queue.isEmpty() );
+    }
+
+    @Override
+    public void filtered( @NonNull Severity severity, @NonNull String category ) {
+        target.filtered( severity, category );
+    }
+
+    @Override
+    public void displayIdenticalMessages() {
+        target.displayIdenticalMessages();
+    }
+
+    @Override
+    public void doNotDisplayIdenticalMessages() {
+        target.doNotDisplayIdenticalMessages();
+    }
+
+}
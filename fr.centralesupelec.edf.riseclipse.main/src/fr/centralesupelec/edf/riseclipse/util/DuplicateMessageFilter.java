@@ -0,0 +1,197 @@
+/*
+*************************************************************************
+**  Copyright (c) 2026 CentraleSupélec & EDF.
+**  All rights reserved. This program and the accompanying materials
+**  are made available under the terms of the Eclipse Public License v2.0
+**  which accompanies this distribution, and is available at
+**  https://www.eclipse.org/legal/epl-v20.html
+** 
+**  This file is part of the RiseClipse tool
+**  
+**  Contributors:
+**      Computer Science Department, CentraleSupélec
+**      EDF R&D
+**  Contacts:
+**      dominique.marcadet@centralesupelec.fr
+**      aurelie.dehouck-neveu@edf.fr
+**  Web site:
+**      https://riseclipse.github.io
+*************************************************************************
+*/
+package fr.centralesupelec.edf.riseclipse.util;
+
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * Remembers the messages already displayed by a console, to suppress identical ones.
+ *
+ * A message is identified by a 64-bit fingerprint of its severity, category, filename,
+ * line number and text, so that only 8 bytes (plus the free slots of the table) are kept
+ * for each distinct message. The filter can remember all messages, only the last distinct
+ * ones (a window of bounded size), or only those of the current file (the filter is
+ * cleared when a message with another filename is seen).
+ */
+final class DuplicateMessageFilter {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    // 0 marks a free slot in table, this fingerprint is used instead
+    private static final long ZERO_FINGERPRINT = 1L;
+    private static final int INITIAL_CAPACITY = 64;
+
+    // Open addressing with linear probing, at most half full
+    private long[] table = new long[INITIAL_CAPACITY];
+    private int size;
+
+    // Fingerprints in order of insertion, null if not bounded
+    private final long[] window;
+    private int windowNext;
+
+    private final boolean perFile;
+    private String currentFile;
+
+    private long suppressed;
+
+    /**
+     * @param maximumSize the maximum number of remembered messages, 0 for no limit
+     * @param perFile     if true, messages are only compared to those with the same filename
+     *                    output since the filename changed
+     */
+    DuplicateMessageFilter( int maximumSize, boolean perFile ) {
+        if( maximumSize < 0 ) {
+            throw new IllegalArgumentException( "maximumSize must not be negative" );
+        }
+        this.window = ( maximumSize == 0 ) ? null : new long[maximumSize];
+        this.perFile = perFile;
+    }
+
+    /**
+     * Check whether an identical message has already been seen, and remember it if not.
+     *
+     * @param message the message
+     * @param text    the text of the message, as given by {@link RiseClipseMessage#getMessage()}
+     * @return true if the message must be suppressed
+     */
+    boolean isDuplicate( @NonNull RiseClipseMessage message, @NonNull String text ) {
+        if( perFile && ! Objects.equals( currentFile, message.getFilename() )) {
+            clear();
+            currentFile = message.getFilename();
+        }
+        long fingerprint = fingerprint( message, text );
+        if( ! add( fingerprint )) {
+            ++suppressed;
+            return true;
+        }
+        if( window != null ) {
+            if( size > window.length ) {
+                // The oldest one is at the place of the new one
+                remove( window[windowNext] );
+            }
+            window[windowNext] = fingerprint;
+            windowNext = ( windowNext + 1 ) % window.length;
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of messages suppressed since the creation of the filter
+     */
+    long getSuppressedCount() {
+        return suppressed;
+    }
+
+    /**
+     * @return the number of remembered messages
+     */
+    int size() {
+        return size;
+    }
+
+    private void clear() {
+        table = new long[INITIAL_CAPACITY];
+        size = 0;
+        windowNext = 0;
+    }
+
+    static long fingerprint( @NonNull RiseClipseMessage message, @NonNull String text ) {
+        long h = FNV_OFFSET_BASIS;
+        h = ( h ^ message.getSeverity().ordinal() ) * FNV_PRIME;
+        h = ( h ^ message.getLineNumber() ) * FNV_PRIME;
+        h = hash( h, message.getCategory() );
+        h = hash( h, message.getFilename() );
+        h = hash( h, text );
+        // Final mix of MurmurHash3, so that all bits are useful for the table index
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return ( h == 0 ) ? ZERO_FINGERPRINT : h;
+    }
+
+    private static long hash( long h, String s ) {
+        if( s == null ) return h * FNV_PRIME;
+        for( int i = 0; i < s.length(); ++i ) {
+            h = ( h ^ s.charAt( i )) * FNV_PRIME;
+        }
+        // Length as separator, so that ("ab", "c") and ("a", "bc") differ
+        return ( h ^ s.length() ) * FNV_PRIME;
+    }
+
+    private int indexOf( long fingerprint ) {
+        return ( int ) fingerprint & ( table.length - 1 );
+    }
+
+    /*
+     * Returns false if already present
+     */
+    private boolean add( long fingerprint ) {
+        int i = indexOf( fingerprint );
+        while( table[i] != 0 ) {
+            if( table[i] == fingerprint ) return false;
+            i = ( i + 1 ) & ( table.length - 1 );
+        }
+        table[i] = fingerprint;
+        ++size;
+        if( 2 * size > table.length ) {
+            resize();
+        }
+        return true;
+    }
+
+    private void remove( long fingerprint ) {
+        int i = indexOf( fingerprint );
+        while( table[i] != fingerprint ) {
+            if( table[i] == 0 ) return;
+            i = ( i + 1 ) & ( table.length - 1 );
+        }
+        // Backward shift of following entries which are not at their place
+        int mask = table.length - 1;
+        int j = i;
+        while( true ) {
+            j = ( j + 1 ) & mask;
+            if( table[j] == 0 ) break;
+            int k = indexOf( table[j] );
+            if(( i <= j ) ? (( i < k ) && ( k <= j )) : (( i < k ) || ( k <= j ))) continue;
+            table[i] = table[j];
+            i = j;
+        }
+        table[i] = 0;
+        --size;
+    }
+
+    private void resize() {
+        long[] old = table;
+        table = new long[old.length * 2];
+        for( long fingerprint : old ) {
+            if( fingerprint != 0 ) {
+                int i = indexOf( fingerprint );
+                while( table[i] != 0 ) i = ( i + 1 ) & ( table.length - 1 );
+                table[i] = fingerprint;
+            }
+        }
+    }
+
+}
@@ -20,23 +20,82 @@
 */
 package fr.centralesupelec.edf.riseclipse.util;
 
+import java.io.BufferedWriter;
+import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.eclipse.jdt.annotation.NonNull;
 
 /**
  * RiseClipse console using a file
  * 
+ * By default, each message is written and flushed immediately.
+ * In asynchronous mode, messages are put in a bounded queue and written by a background
+ * thread which groups them in large buffered writes. {@link #flush()} waits until
+ * queued messages are written, {@link #close()} also stops the background thread;
+ * it is called at the latest when the JVM exits.
+ * 
  * @author Dominique Marcadet
  *
  */
 public class FileRiseClipseConsole extends AbstractRiseClipseConsole {
     
+    /**
+     * What to do with a message when the queue of an asynchronous console is full
+     */
+    public enum OverflowPolicy {
+        /**
+         * Wait until there is room in the queue
+         */
+        BLOCK,
+        /**
+         * Ignore {@link Severity#DEBUG} messages, wait for the others
+         */
+        DROP_DEBUG
+    }
+
+    // Size of the buffer used in asynchronous mode
+    private static final int BUFFER_SIZE = 1 << 16;
+    // Maximum number of messages written before a flush in asynchronous mode
+    private static final int MAX_BATCH_SIZE = 4096;
+    // Tells the background thread to stop, compared by identity
+    private static final String END_OF_MESSAGES = new String( "" );  // NOSONAR
+    
     private PrintWriter writer;
 
+    // Asynchronous mode, queue is null otherwise
+    private BlockingQueue< String > queue;
+    private OverflowPolicy overflowPolicy;
+    // Started with the first message, guarded by this
+    private Thread backgroundWriter;
+    private Thread shutdownHook;
+    private volatile boolean closed;
+    // Messages are queued under the read lock, close() takes the write lock,
+    // so that no message is queued once the background thread may have stopped
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private final AtomicLong queuedMessages = new AtomicLong();
+    private final AtomicLong droppedMessages = new AtomicLong();
+    // Guarded by this
+    private long writtenMessages;
+
     public FileRiseClipseConsole( @NonNull String name ) {
-        super();
+        this( name, true );
+    }
+
+    /**
+     * @param name          the name of the file
+     * @param replaceGlobal use the new console as the unique one if true
+     */
+    public FileRiseClipseConsole( @NonNull String name, boolean replaceGlobal ) {
+        super( false, replaceGlobal );
         
         try {
             writer = new PrintWriter( name );
@@ -46,6 +105,100 @@ public class FileRiseClipseConsole extends AbstractRiseClipseConsole {
         }
     }
 
+    /**
+     * Create an asynchronous console
+     * 
+     * @param name           the name of the file
+     * @param queueCapacity  the maximum number of messages waiting to be written
+     * @param overflowPolicy what to do when the queue is full
+     */
+    public FileRiseClipseConsole( @NonNull String name, int queueCapacity, @NonNull OverflowPolicy overflowPolicy ) {
+        super();
+        
+        if( queueCapacity < 1 ) {
+            throw new IllegalArgumentException( "queueCapacity must be positive" );
+        }
+        try {
+            writer = new PrintWriter( new BufferedWriter( new FileWriter( name ), BUFFER_SIZE ));
+        }
+        catch( IOException e ) {
+            AbstractRiseClipseConsole.getConsole().emergency( "RiseClipse", 0, "Unable to create file ", name, ", got exception ", e );
+        }
+        this.queue = new ArrayBlockingQueue<>( queueCapacity );
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /*
+     * The background thread is not started by the constructor, so that it never
+     * sees a partially constructed console
+     */
+    private synchronized void startBackgroundWriter() {
+        if(( backgroundWriter != null ) || closed ) return;
+        backgroundWriter = new Thread( this::writeMessages, "RiseClipse console writer" );
+        backgroundWriter.setDaemon( true );
+        backgroundWriter.start();
+        
+        // So that queued messages are not lost, even if emergency() is used
+        shutdownHook = new Thread( this::close );
+        Runtime.getRuntime().addShutdownHook( shutdownHook );
+    }
+
+    /**
+     * @return true if messages are written by a background thread
+     */
+    public boolean isAsynchronous() {
+        return queue != null;
+    }
+
+    /**
+     * @return the number of messages ignored because the queue was full
+     */
+    public long getDroppedMessageCount() {
+        return droppedMessages.get();
+    }
+
+    @Override
+    protected void doOutputMessage( @NonNull Severity severity, @NonNull String m ) {
+        if( queue == null ) {
+            doOutputMessage( m );
+            return;
+        }
+        closeLock.readLock().lock();
+        try {
+            // Messages output after close() are ignored
+            if( closed ) return;
+            startBackgroundWriter();
+            enqueue( severity, m );
+        }
+        finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    /*
+     * Called with the read lock held: while waiting for room in the queue,
+     * close() cannot proceed, but the background thread keeps taking messages.
+     */
+    private void enqueue( @NonNull Severity severity, @NonNull String m ) {
+        if(( overflowPolicy == OverflowPolicy.DROP_DEBUG ) && ( severity == Severity.DEBUG )) {
+            if( queue.offer( m )) {
+                queuedMessages.incrementAndGet();
+            }
+            else {
+                droppedMessages.incrementAndGet();
+            }
+            return;
+        }
+        try {
+            queue.put( m );
+            queuedMessages.incrementAndGet();
+        }
+        catch( InterruptedException e ) {
+            droppedMessages.incrementAndGet();
+            Thread.currentThread().interrupt();
+        }
+    }
+
     /**
      * Output message in file
      */
@@ -54,4 +207,117 @@ public class FileRiseClipseConsole extends AbstractRiseClipseConsole {
         writer.println( m );
         writer.flush();
     }
+
+    /*
+     * Body of the background thread
+     */
+    private void writeMessages() {
+        List< String > batch = new ArrayList<>( MAX_BATCH_SIZE );
+        boolean end = false;
+        while( ! end ) {
+            try {
+                batch.add( queue.take() );
+            }
+            catch( InterruptedException e ) {
+                // Only close() may stop this thread
+                continue;
+            }
+            queue.drainTo( batch, MAX_BATCH_SIZE - 1 );
+            int written = 0;
+            for( String m : batch ) {
+                if( m == END_OF_MESSAGES ) {  // NOSONAR
+                    end = true;
+                    break;
+                }
+                writer.println( m );
+                ++written;
+            }
+            writer.flush();
+            batch.clear();
+            synchronized( this ) {
+                writtenMessages += written;
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Wait until all messages already output are written in the file.
+     */
+    public void flush() {
+        if( queue == null ) {
+            writer.flush();
+            return;
+        }
+        long target = queuedMessages.get();
+        synchronized( this ) {
+            while(( backgroundWriter != null ) && ( writtenMessages < target ) && backgroundWriter.isAlive() ) {
+                try {
+                    // The background thread may end without notification if closed concurrently
+                    wait( 100 );
+                }
+                catch( InterruptedException e ) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Write all messages already output and close the file.
+     * Messages output after are ignored.
+     */
+    public void close() {
+        if( queue == null ) {
+            writer.close();
+            return;
+        }
+        closeLock.writeLock().lock();
+        try {
+            synchronized( this ) {
+                if( closed ) return;
+                closed = true;
+                if( backgroundWriter == null ) {
+                    // Nothing has been output
+                    writer.close();
+                    return;
+                }
+            }
+        }
+        finally {
+            closeLock.writeLock().unlock();
+        }
+        // No message can be queued anymore, those already queued are written before END_OF_MESSAGES
+        boolean interrupted = false;
+        while( true ) {
+            try {
+                queue.put( END_OF_MESSAGES );
+                break;
+            }
+            catch( InterruptedException e ) {
+                interrupted = true;
+            }
+        }
+        while( backgroundWriter.isAlive() ) {
+            try {
+                backgroundWriter.join();
+            }
+            catch( InterruptedException e ) {
+                interrupted = true;
+            }
+        }
+        writer.close();
+        if( Thread.currentThread() != shutdownHook ) {
+            try {
+                Runtime.getRuntime().removeShutdownHook( shutdownHook );
+            }
+            catch( IllegalStateException e ) {
+                // JVM is already shutting down
+            }
+        }
+        if( interrupted ) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
@@ -0,0 +1,216 @@
+/*
+*************************************************************************
+**  Copyright (c) 2026 CentraleSupélec & EDF.
+**  All rights reserved. This program and the accompanying materials
+**  are made available under the terms of the Eclipse Public License v2.0
+**  which accompanies this distribution, and is available at
+**  https://www.eclipse.org/legal/epl-v20.html
+** 
+**  This file is part of the RiseClipse tool
+**  
+**  Contributors:
+**      Computer Science Department, CentraleSupélec
+**      EDF R&D
+**  Contacts:
+**      dominique.marcadet@centralesupelec.fr
+**      aurelie.dehouck-neveu@edf.fr
+**  Web site:
+**      https://riseclipse.github.io
+*************************************************************************
+*/
+package fr.centralesupelec.edf.riseclipse.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * Finalization of several resources, respecting the dependencies they declare
+ * with {@link IRiseClipseResource#getFinalizeLoadDependencies()}.
+ *
+ * Resources which declare, with {@link IRiseClipseResource#isFinalizeLoadConcurrent()}, that their
+ * finalization can be done at the same time as others are finalized concurrently, as soon as
+ * their dependencies are finalized. Other resources are finalized alone, in the calling thread.
+ * When finalizations are done concurrently, the messages of each resource are kept and output
+ * once all resources are finalized, in the order of the resources.
+ * A resource is not finalized if the finalization of one of its dependencies failed; an error
+ * is then displayed.
+ */
+final class FinalizeLoadScheduler {
+
+    private static final String FINALIZE_LOAD_CATEGORY = "RiseClipse/FinalizeLoad";
+
+    private final int maxConcurrentFinalizations;
+    private final @NonNull BiConsumer< IRiseClipseResource, IRiseClipseConsole > finalizer;
+
+    /**
+     * @param maxConcurrentFinalizations the maximum number of resources finalized at the same time
+     * @param finalizer                  finalizes a resource, using the given console
+     */
+    FinalizeLoadScheduler( int maxConcurrentFinalizations, @NonNull BiConsumer< IRiseClipseResource, IRiseClipseConsole > finalizer ) {
+        this.maxConcurrentFinalizations = maxConcurrentFinalizations;
+        this.finalizer = finalizer;
+    }
+
+    /**
+     * Finalize the given resources.
+     * If the finalization of a resource fails, the exception is thrown once the finalizations
+     * already started are done.
+     *
+     * @param resources   the resources to finalize, in order
+     * @param console     the console for the messages of the finalizations
+     * @param onFinalized called in the calling thread for each resource successfully finalized
+     */
+    void run( @NonNull List< IRiseClipseResource > resources, @NonNull IRiseClipseConsole console, @NonNull Consumer< IRiseClipseResource > onFinalized ) {
+        List< IRiseClipseResource > ordered = order( resources, console );
+        boolean concurrent = ( maxConcurrentFinalizations > 1 ) && ordered.stream().filter( IRiseClipseResource::isFinalizeLoadConcurrent ).limit( 2 ).count() > 1;
+        if( ! concurrent ) {
+            for( IRiseClipseResource r : ordered ) {
+                finalizer.accept( r, console );
+                onFinalized.accept( r );
+            }
+            return;
+        }
+        runConcurrently( resources, ordered, console, onFinalized );
+    }
+
+    private void runConcurrently( @NonNull List< IRiseClipseResource > resources, @NonNull List< IRiseClipseResource > ordered,
+            @NonNull IRiseClipseConsole console, @NonNull Consumer< IRiseClipseResource > onFinalized ) {
+        Map< IRiseClipseResource, BufferedRiseClipseConsole > consoles = new HashMap<>();
+        Map< IRiseClipseResource, CompletableFuture< Void >> finalizations = new HashMap<>();
+        Map< IRiseClipseResource, Throwable > failures = new ConcurrentHashMap<>();
+
+        try( ExecutorService executor = Executors.newFixedThreadPool( Math.min( maxConcurrentFinalizations, ordered.size() ))) {
+            for( IRiseClipseResource r : ordered ) {
+                BufferedRiseClipseConsole resourceConsole = new BufferedRiseClipseConsole( console );
+                consoles.put( r, resourceConsole );
+                List< CompletableFuture< Void >> prerequisites = new ArrayList<>();
+                for( IRiseClipseResource dependency : r.getFinalizeLoadDependencies() ) {
+                    CompletableFuture< Void > f = finalizations.get( dependency );
+                    if( f != null ) prerequisites.add( f );
+                }
+                CompletableFuture< Void > finalization;
+                if( r.isFinalizeLoadConcurrent() ) {
+                    finalization = CompletableFuture
+                            .allOf( prerequisites.toArray( new CompletableFuture< ? >[0] ))
+                            .thenRunAsync( () -> finalize( r, resourceConsole, failures ), executor );
+                }
+                else {
+                    // Finalized alone, in the calling thread as when no finalization is concurrent
+                    awaitAll( finalizations.values() );
+                    if( prerequisites.stream().anyMatch( CompletableFuture::isCompletedExceptionally )) {
+                        finalization = CompletableFuture.failedFuture( new IllegalStateException( "dependency not finalized" ));
+                    }
+                    else {
+                        finalization = CompletableFuture.runAsync( () -> finalize( r, resourceConsole, failures ), Runnable::run );
+                    }
+                }
+                finalizations.put( r, finalization );
+            }
+            // Finalizations are started by the completion of others: wait for all before closing the executor
+            awaitAll( finalizations.values() );
+        }
+
+        Throwable failure = null;
+        for( IRiseClipseResource r : resources ) {
+            BufferedRiseClipseConsole resourceConsole = consoles.get( r );
+            CompletableFuture< Void > f = finalizations.get( r );
+            if(( f != null ) && f.isCompletedExceptionally() && ! failures.containsKey( r )) {
+                reportSkipped( r, resourceConsole, finalizations );
+            }
+            if( resourceConsole != null ) resourceConsole.flush();
+            if(( f != null ) && ! f.isCompletedExceptionally() ) {
+                onFinalized.accept( r );
+            }
+            if( failure == null ) failure = failures.get( r );
+        }
+        if( failure instanceof RuntimeException e ) throw e;
+        if( failure instanceof Error e ) throw e;
+    }
+
+    private void finalize( @NonNull IRiseClipseResource r, @NonNull BufferedRiseClipseConsole resourceConsole, @NonNull Map< IRiseClipseResource, Throwable > failures ) {
+        AbstractRiseClipseConsole.runWithConsole( resourceConsole, () -> {
+            try {
+                finalizer.accept( r, resourceConsole );
+            }
+            catch( RuntimeException | Error e ) {
+                failures.put( r, e );
+                throw e;
+            }
+        });
+    }
+
+    private static void awaitAll( @NonNull Collection< CompletableFuture< Void >> finalizations ) {
+        for( CompletableFuture< Void > f : finalizations ) {
+            try {
+                f.join();
+            }
+            catch( CompletionException e ) {
+                // Failures are reported once all finalizations are done
+            }
+        }
+    }
+
+    /*
+     * A finalization which has not been done because one of its dependencies failed or was not done
+     */
+    private static void reportSkipped( @NonNull IRiseClipseResource r, @NonNull IRiseClipseConsole console, @NonNull Map< IRiseClipseResource, CompletableFuture< Void >> finalizations ) {
+        String dependencies = r.getFinalizeLoadDependencies().stream()
+                .filter( d -> ( finalizations.get( d ) != null ) && finalizations.get( d ).isCompletedExceptionally() )
+                .map( FinalizeLoadScheduler::nameOf )
+                .collect( Collectors.joining( ", " ));
+        console.error( FINALIZE_LOAD_CATEGORY, 0, () -> "Finalization of " + nameOf( r ) + " is not done because finalization of " + dependencies + " did not succeed" );
+    }
+
+    /*
+     * Order resources so that each one comes after its dependencies, keeping the given order otherwise.
+     * Dependencies which are not in the given resources are ignored, as are those creating a cycle.
+     */
+    private static @NonNull List< IRiseClipseResource > order( @NonNull List< IRiseClipseResource > resources, @NonNull IRiseClipseConsole console ) {
+        Set< IRiseClipseResource > toFinalize = new HashSet<>( resources );
+        List< IRiseClipseResource > ordered = new ArrayList<>( resources.size() );
+        Set< IRiseClipseResource > visited = new HashSet<>();
+        Set< IRiseClipseResource > inProgress = new HashSet<>();
+        for( IRiseClipseResource r : resources ) {
+            visit( r, toFinalize, visited, inProgress, ordered, console );
+        }
+        return ordered;
+    }
+
+    private static void visit( IRiseClipseResource r, Set< IRiseClipseResource > toFinalize, Set< IRiseClipseResource > visited,
+            Set< IRiseClipseResource > inProgress, List< IRiseClipseResource > ordered, IRiseClipseConsole console ) {
+        if( visited.contains( r )) return;
+        inProgress.add( r );
+        for( IRiseClipseResource dependency : r.getFinalizeLoadDependencies() ) {
+            if( ! toFinalize.contains( dependency )) continue;
+            if( inProgress.contains( dependency )) {
+                console.warning( FINALIZE_LOAD_CATEGORY, 0, () -> "Cyclic finalization dependency between " + nameOf( r ) + " and " + nameOf( dependency ) + " is ignored" );
+                continue;
+            }
+            visit( dependency, toFinalize, visited, inProgress, ordered, console );
+        }
+        inProgress.remove( r );
+        visited.add( r );
+        ordered.add( r );
+    }
+
+    private static String nameOf( IRiseClipseResource r ) {
+        return ( r instanceof Resource resource ) && ( resource.getURI() != null ) ? resource.getURI().lastSegment() : String.valueOf( r );
+    }
+
+}
@@ -20,6 +20,8 @@
 */
 package fr.centralesupelec.edf.riseclipse.util;
 
+import java.util.function.Supplier;
+
 import org.eclipse.jdt.annotation.NonNull;
 
 /**
@@ -46,6 +48,17 @@ public interface IRiseClipseConsole {
      */
     @NonNull Severity setLevel( @NonNull Severity level );
     
+    /**
+     * Check whether messages of the given severity will be displayed.
+     * It allows for avoiding building a message which would be ignored.
+     * 
+     * @param severity severity of a message
+     * @return true if the current level is severity or below
+     */
+    default boolean isEnabled( @NonNull Severity severity ) {
+        return severity.compareTo( getLevel() ) <= 0;
+    }
+    
     /**
      * Get the current string used for formatting messages.
      * 
@@ -102,9 +115,12 @@ public interface IRiseClipseConsole {
      * @param messageParts parts of the message to be displayed
      */
     default void alert( @NonNull String category, int lineNumber, @NonNull Object... messageParts ) {
-        if( Severity.ALERT.compareTo( getLevel() ) <= 0 ) {
+        if( isEnabled( Severity.ALERT )) {
             output( RiseClipseMessage.alert( category, lineNumber, messageParts ));
         }
+        else {
+            filtered( Severity.ALERT, category );
+        }
     }
 
     /**
@@ -116,9 +132,47 @@ public interface IRiseClipseConsole {
      * @param messageParts parts of the message to be displayed
      */
     default void alert( @NonNull String category, @NonNull String filename, int lineNumber, @NonNull Object... messageParts ) {
-        if( Severity.ALERT.compareTo( getLevel() ) <= 0 ) {
+        if( isEnabled( Severity.ALERT )) {
             output( RiseClipseMessage.alert( category, filename, lineNumber, messageParts ));
         }
+        else {
+            filtered( Severity.ALERT, category );
+        }
+    }
+
+    /**
+     * Output category, line and the message given by supplier if current level is ALERT or below.
+     * The supplier is not called otherwise.
+     * 
+     * @param category   category of the message
+     * @param lineNumber line number corresponding to the information indicated by the message
+     * @param message    supplier of the message to be displayed
+     */
+    default void alert( @NonNull String category, int lineNumber, @NonNull Supplier< String > message ) {
+        if( isEnabled( Severity.ALERT )) {
+            output( RiseClipseMessage.alert( category, lineNumber, message.get() ));
+        }
+        else {
+            filtered( Severity.ALERT, category );
+        }
+    }
+
+    /**
+     * Output category, filename, line and the message given by supplier if current level is ALERT or below.
+     * The supplier is not called otherwise.
+     * 
+     * @param category   category of the message
+     * @param filename   filename corresponding to the information indicated by the message
+     * @param lineNumber line number corresponding to the information indicated by the message
+     * @param message    supplier of the message to be displayed
+     */
+    default void alert( @NonNull String category, @NonNull String filename, int lineNumber, @NonNull Supplier< String > message ) {
+        if( isEnabled( Severity.ALERT )) {
+            output( RiseClipseMessage.alert( category, filename, lineNumber, message.get() ));
+        }
+        else {
+            filtered( Severity.ALERT, category );
+        }
     }
 
     /**
@@ -129,9 +183,12 @@ public interface IRiseClipseConsole {
      * @param messageParts parts of the message to be displayed
      */
     default void critical( @NonNull String category, int lineNumber, @NonNull Object... messageParts ) {
-        if( Severity.CRITICAL.compareTo( getLevel() ) <= 0 ) {
+        if( isEnabled( Severity.CRITICAL )) {
             output( RiseClipseMessage.critical( category, lineNumber, messageParts ));
         }
+        else {
+            filtered( Severity.CRITICAL, category );
+        }
     }
 
     /**
@@ -143,9 +200,47 @@ public interface IRiseClipseConsole {
      * @param messageParts parts of the message to be displayed
      */
     default void critical( @NonNull String category, @NonNull String filename, int lineNumber, @NonNull Object... messageParts ) {
-        if( Severity.CRITICAL.compareTo( getLevel() ) <= 0 ) {
+        if( isEnabled( Severity.CRITICAL )) {
             output( RiseClipseMessage.critical( category, filename, lineNumber, messageParts ));
         }
+        else {
+            filtered( Severity.CRITICAL, category );
+        }
+    }
+
+    /**
+     * Output category, line and the message given by supplier if current level is CRITICAL or below.
+     * The supplier is not called otherwise.
+     * 
+     * @param category   category of the message
+     * @param lineNumber line number corresponding to the information indicated by the message
+     * @param message    supplier of the message to be displayed
+     */
+    default void critical( @NonNull String category, int lineNumber, @NonNull Supplier< String > message ) {
+        if( isEnabled( Severity.CRITICAL )) {
+            output( RiseClipseMessage.critical( category, lineNumber, message.get() ));
+        }
+        else {
+            filtered( Severity.CRITICAL, category );
+        }
+    }
+
+    /**
+     * Output category, filename, line and the message given by supplier if current level is CRITICAL or below.
+     * The supplier is not called otherwise.
+     * 
+     * @param category   category of the message
+     * @param filename   filename corresponding to the information indicated by the message
+     * @param lineNumber line number corresponding to the information indicated by the message
+     * @param message    supplier of the message to be displayed
+     */
+    default void critical( @NonNull String category, @NonNull String filename, int lineNumber, @NonNull Supplier< String > message ) {
+        if( isEnabled( Severity.CRITICAL )) {
+            output( RiseClipseMessage.critical( category, filename, lineNumber, message.get() ));
+        }
+        else {
+            filtered( Severity.CRITICAL, category );
+        }
     }
 
     /**
@@ -156,9 +251,12 @@ public interface IRiseClipseConsole {
      * @param messageParts parts of the message to be displayed
      */
     default void error( @NonNull String category, int lineNumber, @NonNull Object... messageParts ) {
-        if( Severity.ERROR.compareTo( getLevel() ) <= 0 ) {
+        if( isEnabled( Severity.ERROR )) {
             output( RiseClipseMessage.error( category, lineNumber, messageParts ));
         }
+        else {
+            filtered( Severity.ERROR, category );
+        }
     }
 
     /**
@@ -170,9 +268,47 @@ public interface IRiseClipseConsole {
      * @param messageParts parts of the message to be displayed
      */
     default void error( @NonNull String category, @NonNull String filename, int lineNumber, @NonNull Object... messageParts ) {
-        if( Severity.ERROR.compareTo( getLevel() ) <= 0 ) {
+        if( isEnabled( Severity.ERROR )) {
             output( RiseClipseMessage.error( category, filename, lineNumber, messageParts ));
         }
+        else {
+            filtered( Severity.ERROR, category );
+        }
+    }
+
+    /**
+     * Output category, line and the message given by supplier if current level is ERROR or below.
+     * The supplier is not called otherwise.
+     * 
+     * @param category   category of the message
+     * @param lineNumber line number corresponding to the information indicated by the message
+     * @param message    supplier of the message to be displayed
+     */
+    default void error( @NonNull String category, int lineNumber, @NonNull Supplier< String > message ) {
+        if( isEnabled( Severity.ERROR )) {
+            output( RiseClipseMessage.error( category, lineNumber, message.get() ));
+        }
+        else {
+            filtered( Severity.ERROR, category );
+        }
+    }
+
+    /**
+     * Output category, filename, line and the message given by supplier if current level is ERROR or below.
+     * The supplier is not called otherwise.
+     * 
+     * @param category   category of the message
+     * @param filename   filename corresponding to the information indicated by the message
+     * @param lineNumber line number corresponding to the information indicated by the message
+     * @param message    supplier of the message to be displayed
+     */
+    default void error( @NonNull String category, @NonNull String filename, int lineNumber, @NonNull Supplier< String > message ) {
+        if( isEnabled( Severity.ERROR )) {
+            output( RiseClipseMessage.error( category, filename, lineNumber, message.get() ));
+        }
+        else {
+            filtered( Severity.ERROR, category );
+        }
     }
 
     /**
@@ -183,9 +319,12 @@ public interface IRiseClipseConsole {
      * @param messageParts parts of the message to be displayed
      */
     default void warning( @NonNull String category, int lineNumber, @NonNull Object... messageParts ) {
-        if( Severity.WARNING.compareTo( getLevel() ) <= 0 ) {
+        if( isEnabled( Severity.WARNING )) {
             output( RiseClipseMessage.warning( category, lineNumber, messageParts ));
         }
+        else {
+            filtered( Severity.WARNING, category );
+        }
     }
 
     /**
@@ -197,9 +336,47 @@ public interface IRiseClipseConsole {
      * @param messageParts parts of the message to be displayed
      */
     default void warning( @NonNull String category, @NonNull String filename, int lineNumber, @NonNull Object... messageParts ) {
-        if( Severity.WARNING.compareTo( getLevel() ) <= 0 ) {
+        if( isEnabled( Severity.WARNING )) {
             output( RiseClipseMessage.warning( category, filename, lineNumber, messageParts ));
         }
+        else {
+            filtered( Severity.WARNING, category );
+        }
+    }
+
+    /**
+     * Output category, line and the message given by supplier if current level is WARNING or below.
+     * The supplier is not called otherwise.
+     * 
+     * @param category   category of the message
+     * @param lineNumber line number corresponding to the information indicated by the message
+     * @param message    supplier of the message to be displayed
+     */
+    default void warning( @NonNull String category, int lineNumber, @NonNull Supplier< String > message ) {
+        if( isEnabled( Severity.WARNING )) {
+            output( RiseClipseMessage.warning( category, lineNumber, message.get() ));
+        }
+        else {
+            filtered( Severity.WARNING, category );
+        }
+    }
+
+    /**
+     * Output category, filename, line and the message given by supplier if current level is WARNING or below.
+     * The supplier is not called otherwise.
+     * 
+     * @param category   category of the message
+     * @param filename   filename corresponding to the information indicated by the message
+     * @param lineNumber line number corresponding to the information indicated by the message
+     * @param message    supplier of the message to be displayed
+     */
+    default void warning( @NonNull String category, @NonNull String filename, int lineNumber, @NonNull Supplier< String > message ) {
+        if( isEnabled( Severity.WARNING )) {
+            output( RiseClipseMessage.warning( category, filename, lineNumber, message.get() ));
+        }
+        else {
+            filtered( Severity.WARNING, category );
+        }
     }
 
     /**
@@ -210,9 +387,12 @@ public interface IRiseClipseConsole {
      * @param messageParts parts of the message to be displayed
      */
     default void notice( @NonNull String category, int lineNumber, @NonNull Object... messageParts ) {
-        if( Severity.NOTICE.compareTo( getLevel() ) <= 0 ) {
+        if( isEnabled( Severity.NOTICE )) {
             output( RiseClipseMessage.notice( category, lineNumber, messageParts ));
         }
+        else {
+            filtered( Severity.NOTICE, category );
+        }
     }
 
     /**
@@ -224,9 +404,47 @@ public interface IRiseClipseConsole {
      * @param messageParts parts of the message to be displayed
      */
     default void notice( @NonNull String category, @NonNull String filename, int lineNumber, @NonNull Object... messageParts ) {
-        if( Severity.NOTICE.compareTo( getLevel() ) <= 0 ) {
+        if( isEnabled( Severity.NOTICE )) {
             output( RiseClipseMessage.notice( category, filename, lineNumber, messageParts ));
         }
+        else {
+            filtered( Severity.NOTICE, category );
+        }
+    }
+
+    /**
+     * Output category, line and the message given by supplier if current level is NOTICE or below.
+     * The supplier is not called otherwise.
+     * 
+     * @param category   category of the message
+     * @param lineNumber line number corresponding to the information indicated by the message
+     * @param message    supplier of the message to be displayed
+     */
+    default void notice( @NonNull String category, int lineNumber, @NonNull Supplier< String > message ) {
+        if( isEnabled( Severity.NOTICE )) {
+            output( RiseClipseMessage.notice( category, lineNumber, message.get() ));
+        }
+        else {
+            filtered( Severity.NOTICE, category );
+        }
+    }
+
+    /**
+     * Output category, filename, line and the message given by supplier if current level is NOTICE or below.
+     * The supplier is not called otherwise.
+     * 
+     * @param category   category of the message
+     * @param filename   filename corresponding to the information indicated by the message
+     * @param lineNumber line number corresponding to the information indicated by the message
+     * @param message    supplier of the message to be displayed
+     */
+    default void notice( @NonNull String category, @NonNull String filename, int lineNumber, @NonNull Supplier< String > message ) {
+        if( isEnabled( Severity.NOTICE )) {
+            output( RiseClipseMessage.notice( category, filename, lineNumber, message.get() ));
+        }
+        else {
+            filtered( Severity.NOTICE, category );
+        }
     }
 
     /**
@@ -237,9 +455,12 @@ public interface IRiseClipseConsole {
      * @param messageParts parts of the message to be displayed
      */
     default void info( @NonNull String category, int lineNumber, @NonNull Object... messageParts ) {
-        if( Severity.INFO.compareTo( getLevel() ) <= 0 ) {
+        if( isEnabled( Severity.INFO )) {
             output( RiseClipseMessage.info( category, lineNumber, messageParts ));
         }
+        else {
+            filtered( Severity.INFO, category );
+        }
     }
 
     /**
@@ -251,9 +472,47 @@ public interface IRiseClipseConsole {
      * @param messageParts parts of the message to be displayed
      */
     default void info( @NonNull String category, @NonNull String filename, int lineNumber, @NonNull Object... messageParts ) {
-        if( Severity.INFO.compareTo( getLevel() ) <= 0 ) {
+        if( isEnabled( Severity.INFO )) {
             output( RiseClipseMessage.info( category, filename, lineNumber, messageParts ));
         }
+        else {
+            filtered( Severity.INFO, category );
+        }
+    }
+
+    /**
+     * Output category, line and the message given by supplier if current level is INFO or below.
+     * The supplier is not called otherwise.
+     * 
+     * @param category   category of the message
+     * @param lineNumber line number corresponding to the information indicated by the message
+     * @param message    supplier of the message to be displayed
+     */
+    default void info( @NonNull String category, int lineNumber, @NonNull Supplier< String > message ) {
+        if( isEnabled( Severity.INFO )) {
+            output( RiseClipseMessage.info( category, lineNumber, message.get() ));
+        }
+        else {
+            filtered( Severity.INFO, category );
+        }
+    }
+
+    /**
+     * Output category, filename, line and the message given by supplier if current level is INFO or below.
+     * The supplier is not called otherwise.
+     * 
+     * @param category   category of the message
+     * @param filename   filename corresponding to the information indicated by the message
+     * @param lineNumber line number corresponding to the information indicated by the message
+     * @param message    supplier of the message to be displayed
+     */
+    default void info( @NonNull String category, @NonNull String filename, int lineNumber, @NonNull Supplier< String > message ) {
+        if( isEnabled( Severity.INFO )) {
+            output( RiseClipseMessage.info( category, filename, lineNumber, message.get() ));
+        }
+        else {
+            filtered( Severity.INFO, category );
+        }
     }
 
     /**
@@ -264,9 +523,12 @@ public interface IRiseClipseConsole {
      * @param messageParts parts of the message to be displayed
      */
     default void debug( @NonNull String category, int lineNumber, @NonNull Object... messageParts ) {
-        if( Severity.DEBUG.compareTo( getLevel() ) <= 0 ) {
+        if( isEnabled( Severity.DEBUG )) {
             output( RiseClipseMessage.debug( category, lineNumber, messageParts ));
         }
+        else {
+            filtered( Severity.DEBUG, category );
+        }
     }
 
     /**
@@ -278,9 +540,57 @@ public interface IRiseClipseConsole {
      * @param messageParts parts of the message to be displayed
      */
     default void debug( @NonNull String category, @NonNull String filename, int lineNumber, @NonNull Object... messageParts ) {
-        if( Severity.DEBUG.compareTo( getLevel() ) <= 0 ) {
+        if( isEnabled( Severity.DEBUG )) {
             output( RiseClipseMessage.debug( category, filename, lineNumber, messageParts ));
         }
+        else {
+            filtered( Severity.DEBUG, category );
+        }
+    }
+
+    /**
+     * Output category, line and the message given by supplier if current level is DEBUG or below.
+     * The supplier is not called otherwise.
+     * 
+     * @param category   category of the message
+     * @param lineNumber line number corresponding to the information indicated by the message
+     * @param message    supplier of the message to be displayed
+     */
+    default void debug( @NonNull String category, int lineNumber, @NonNull Supplier< String > message ) {
+        if( isEnabled( Severity.DEBUG )) {
+            output( RiseClipseMessage.debug( category, lineNumber, message.get() ));
+        }
+        else {
+            filtered( Severity.DEBUG, category );
+        }
+    }
+
+    /**
+     * Output category, filename, line and the message given by supplier if current level is DEBUG or below.
+     * The supplier is not called otherwise.
+     * 
+     * @param category   category of the message
+     * @param filename   filename corresponding to the information indicated by the message
+     * @param lineNumber line number corresponding to the information indicated by the message
+     * @param message    supplier of the message to be displayed
+     */
+    default void debug( @NonNull String category, @NonNull String filename, int lineNumber, @NonNull Supplier< String > message ) {
+        if( isEnabled( Severity.DEBUG )) {
+            output( RiseClipseMessage.debug( category, filename, lineNumber, message.get() ));
+        }
+        else {
+            filtered( Severity.DEBUG, category );
+        }
+    }
+
+    /**
+     * Called by the helper methods instead of building a message when its severity is
+     * not enabled. It allows for counting such messages, the default implementation does nothing.
+     * 
+     * @param severity severity of the message
+     * @param category category of the message
+     */
+    default void filtered( @NonNull Severity severity, @NonNull String category ) {
     }
 
     /**
@@ -20,6 +20,9 @@
 */
 package fr.centralesupelec.edf.riseclipse.util;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.jdt.annotation.NonNull;
 
@@ -55,4 +58,37 @@ public interface IRiseClipseResource extends Resource {
         // Nothing
     }
     
+    /**
+     * Whether {@link #finalizeLoad(IRiseClipseConsole)} can be called while other resources
+     * of the resourceSet are finalized. It must then only use the given console, and neither
+     * modify other resources nor depend on their finalization, except for those given by
+     * {@link #getFinalizeLoadDependencies()}.
+     * 
+     * @return true if this resource can be finalized concurrently, false by default
+     */
+    default boolean isFinalizeLoadConcurrent() {
+        return false;
+    }
+
+    /**
+     * Give the resources of the resourceSet which must be finalized before this one.
+     * 
+     * @return the resources this one depends on for its finalization, none by default
+     */
+    default @NonNull Collection< ? extends IRiseClipseResource > getFinalizeLoadDependencies() {
+        return List.of();
+    }
+    
+    /**
+     * When this resource is added to a resourceSet after other resources have been finalized,
+     * give those whose finalization must be done again because of this resource
+     * (for example because they have references that may be resolved in this resource).
+     * 
+     * @param finalizedResources the resources of the resourceSet already finalized
+     * @return the resources to finalize again, none by default
+     */
+    default @NonNull Collection< ? extends IRiseClipseResource > getAffectedResources( @NonNull Collection< IRiseClipseResource > finalizedResources ) {
+        return List.of();
+    }
+    
 }
@@ -20,6 +20,8 @@
 */
 package fr.centralesupelec.edf.riseclipse.util;
 
+import java.util.Optional;
+
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.jdt.annotation.NonNull;
 
@@ -55,4 +57,14 @@ public interface IRiseClipseResourceSet extends ResourceSet {
         // Nothing
     }
     
+    /**
+     * Give the index of named objects shared by the resources of this resourceSet:
+     * they may fill it while they are loaded and use it when they are finalized.
+     * 
+     * @return the index of named objects, none by default
+     */
+    default @NonNull Optional< RiseClipseNameIndex > getNameIndex() {
+        return Optional.empty();
+    }
+    
 }
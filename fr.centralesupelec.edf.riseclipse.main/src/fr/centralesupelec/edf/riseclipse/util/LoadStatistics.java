@@ -0,0 +1,222 @@
+/*
+*************************************************************************
+**  Copyright (c) 2026 CentraleSupélec & EDF.
+**  All rights reserved. This program and the accompanying materials
+**  are made available under the terms of the Eclipse Public License v2.0
+**  which accompanies this distribution, and is available at
+**  https://www.eclipse.org/legal/epl-v20.html
+** 
+**  This file is part of the RiseClipse tool
+**  
+**  Contributors:
+**      Computer Science Department, CentraleSupélec
+**      EDF R&D
+**  Contacts:
+**      dominique.marcadet@centralesupelec.fr
+**      aurelie.dehouck-neveu@edf.fr
+**  Web site:
+**      https://riseclipse.github.io
+*************************************************************************
+*/
+package fr.centralesupelec.edf.riseclipse.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * Performance data collected while resources are loaded in an {@link AbstractRiseClipseResourceSet}:
+ * for each resource (or zip archive), the time spent in each {@link Phase}, the number of bytes
+ * read and the number of objects created.
+ * Objects are only counted if {@link #setObjectCountEnabled(boolean)} has been called, because
+ * this needs a walk through the contents of each resource after its parsing.
+ * It can be used concurrently.
+ */
+public final class LoadStatistics {
+
+    private static final String LOAD_STATISTICS_CATEGORY = "RiseClipse/LoadStatistics";
+
+    /**
+     * Phases of the load of a resource
+     */
+    public enum Phase {
+        /**
+         * Listing the entries of a zip archive, and detection of their metamodel
+         */
+        ZIP_SCAN,
+        /**
+         * Detection of the metamodel of the resource
+         */
+        SNIFF,
+        /**
+         * Parsing of the resource
+         */
+        PARSE,
+        /**
+         * Call of {@link IRiseClipseResource#finalizeLoad(IRiseClipseConsole)}
+         */
+        FINALIZE
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    /**
+     * Performance data for one resource
+     */
+    public static final class ResourceStatistics {
+        private final @NonNull URI uri;
+        private final long[] nanos = new long[PHASES.length];
+        private long bytesRead;
+        private long objectCount;
+
+        private ResourceStatistics( @NonNull URI uri ) {
+            this.uri = uri;
+        }
+
+        public @NonNull URI getURI() {
+            return uri;
+        }
+
+        /**
+         * @param phase a phase of the load
+         * @return the time spent in this phase, in nanoseconds
+         */
+        public synchronized long getNanos( @NonNull Phase phase ) {
+            return nanos[phase.ordinal()];
+        }
+
+        /**
+         * @return the number of bytes read from the resource, including those read to find its metamodel
+         */
+        public synchronized long getBytesRead() {
+            return bytesRead;
+        }
+
+        /**
+         * @return the number of objects contained in the resource after parsing, 0 if objects are not counted
+         */
+        public synchronized long getObjectCount() {
+            return objectCount;
+        }
+
+        private synchronized void addNanos( @NonNull Phase phase, long n ) {
+            nanos[phase.ordinal()] += n;
+        }
+
+        private synchronized void addBytesRead( long n ) {
+            bytesRead += n;
+        }
+
+        private synchronized void setObjectCount( long n ) {
+            objectCount = n;
+        }
+    }
+
+    private final Map< URI, ResourceStatistics > resources = new LinkedHashMap<>();
+
+    private volatile boolean objectCountEnabled;
+
+    /**
+     * @return true if the objects of loaded resources are counted
+     */
+    public boolean isObjectCountEnabled() {
+        return objectCountEnabled;
+    }
+
+    /**
+     * Objects are not counted by default.
+     *
+     * @param objectCountEnabled if true, the objects of resources loaded from now on are counted
+     */
+    public void setObjectCountEnabled( boolean objectCountEnabled ) {
+        this.objectCountEnabled = objectCountEnabled;
+    }
+
+    private synchronized @NonNull ResourceStatistics get( @NonNull URI uri ) {
+        return resources.computeIfAbsent( uri, ResourceStatistics::new );
+    }
+
+    void addNanos( @NonNull URI uri, @NonNull Phase phase, long nanos ) {
+        get( uri ).addNanos( phase, nanos );
+    }
+
+    void addBytesRead( @NonNull URI uri, long bytes ) {
+        get( uri ).addBytesRead( bytes );
+    }
+
+    void setObjectCount( @NonNull URI uri, long count ) {
+        get( uri ).setObjectCount( count );
+    }
+
+    /**
+     * @return the data of each resource, in the order of their first record
+     */
+    public synchronized @NonNull List< ResourceStatistics > getResourceStatistics() {
+        return new ArrayList<>( resources.values() );
+    }
+
+    /**
+     * @param phase a phase of the load
+     * @return the time spent in this phase for all resources, in nanoseconds
+     */
+    public long getTotalNanos( @NonNull Phase phase ) {
+        return getResourceStatistics().stream().mapToLong( r -> r.getNanos( phase )).sum();
+    }
+
+    /**
+     * @return the number of bytes read for all resources
+     */
+    public long getTotalBytesRead() {
+        return getResourceStatistics().stream().mapToLong( ResourceStatistics::getBytesRead ).sum();
+    }
+
+    /**
+     * @return the number of objects in all resources, 0 if objects are not counted
+     */
+    public long getTotalObjectCount() {
+        return getResourceStatistics().stream().mapToLong( ResourceStatistics::getObjectCount ).sum();
+    }
+
+    /**
+     * Forget all collected data
+     */
+    public synchronized void clear() {
+        resources.clear();
+    }
+
+    /**
+     * Display collected data, one line per resource and one line for totals, at INFO level.
+     *
+     * @param console the console used
+     */
+    public void print( @NonNull IRiseClipseConsole console ) {
+        if( ! console.isEnabled( Severity.INFO )) return;
+        List< ResourceStatistics > statistics = getResourceStatistics();
+        if( statistics.isEmpty() ) return;
+        for( ResourceStatistics r : statistics ) {
+            console.info( LOAD_STATISTICS_CATEGORY, 0, format( r.getURI().lastSegment(), r::getNanos, r.getBytesRead(), r.getObjectCount() ));
+        }
+        console.info( LOAD_STATISTICS_CATEGORY, 0, format( "total", this::getTotalNanos, getTotalBytesRead(), getTotalObjectCount() ));
+    }
+
+    private @NonNull String format( String name, ToLongFunction< Phase > nanos, long bytes, long objects ) {
+        StringBuilder sb = new StringBuilder( name ).append( ':' );
+        for( Phase phase : PHASES ) {
+            sb.append( ' ' ).append( phase.name().toLowerCase( Locale.ROOT ) ).append( ' ' )
+              .append( TimeUnit.NANOSECONDS.toMillis( nanos.applyAsLong( phase ))).append( " ms," );
+        }
+        sb.append( ' ' ).append( bytes ).append( " bytes" );
+        if( objectCountEnabled ) {
+            sb.append( ", " ).append( objects ).append( " objects" );
+        }
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,181 @@
+/*
+*************************************************************************
+**  Copyright (c) 2026 CentraleSupélec & EDF.
+**  All rights reserved. This program and the accompanying materials
+**  are made available under the terms of the Eclipse Public License v2.0
+**  which accompanies this distribution, and is available at
+**  https://www.eclipse.org/legal/epl-v20.html
+** 
+**  This file is part of the RiseClipse tool
+**  
+**  Contributors:
+**      Computer Science Department, CentraleSupélec
+**      EDF R&D
+**  Contacts:
+**      dominique.marcadet@centralesupelec.fr
+**      aurelie.dehouck-neveu@edf.fr
+**  Web site:
+**      https://riseclipse.github.io
+*************************************************************************
+*/
+package fr.centralesupelec.edf.riseclipse.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * Bounded cache of the results of {@link RiseClipseMetamodel#findMetamodelFor(URI, org.eclipse.emf.ecore.resource.URIConverter)}.
+ *
+ * Only local files are cached: an entry is keyed by the URI of the file and is valid
+ * as long as the modification time and the size of the file are unchanged.
+ * When the cache is full, the least recently used entry is evicted.
+ * The cache can be used concurrently.
+ */
+public class MetamodelDetectionCache {
+
+    /**
+     * Default maximum number of entries
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 10000;
+
+    private static final class Entry {
+        private final long lastModified;
+        private final long size;
+        private final Optional< String > metamodel;
+
+        Entry( long lastModified, long size, Optional< String > metamodel ) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.metamodel = metamodel;
+        }
+    }
+
+    private volatile int maximumSize;
+    private final LinkedHashMap< URI, Entry > entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    MetamodelDetectionCache( int maximumSize ) {
+        this.maximumSize = maximumSize;
+        // Access order for LRU eviction
+        this.entries = new LinkedHashMap< URI, Entry >( 16, 0.75f, true ) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry( Map.Entry< URI, Entry > eldest ) {
+                return size() > MetamodelDetectionCache.this.maximumSize;
+            }
+        };
+    }
+
+    /*
+     * Get the cached result for the given URI, or compute it using detector.
+     */
+    Optional< String > get( @NonNull URI uri, @NonNull Function< URI, Optional< String >> detector ) {
+        if( maximumSize == 0 ) {
+            return detector.apply( uri );
+        }
+        BasicFileAttributes attributes = getFileAttributes( uri );
+        if( attributes == null ) {
+            // Not cached
+            return detector.apply( uri );
+        }
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        long size = attributes.size();
+
+        synchronized( entries ) {
+            Entry entry = entries.get( uri );
+            if(( entry != null ) && ( entry.lastModified == lastModified ) && ( entry.size == size )) {
+                hits.increment();
+                return entry.metamodel;
+            }
+        }
+        misses.increment();
+        Optional< String > metamodel = detector.apply( uri );
+        synchronized( entries ) {
+            entries.put( uri, new Entry( lastModified, size, metamodel ));
+        }
+        return metamodel;
+    }
+
+    private static BasicFileAttributes getFileAttributes( @NonNull URI uri ) {
+        if( ! uri.isFile() ) return null;
+        try {
+            Path path = Paths.get( uri.toFileString() );
+            BasicFileAttributes attributes = Files.readAttributes( path, BasicFileAttributes.class );
+            return attributes.isRegularFile() ? attributes : null;
+        }
+        catch( IOException | InvalidPathException e ) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the number of detections avoided since creation or last {@link #clear()}
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of detections done for cacheable URIs since creation or last {@link #clear()}
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the current number of entries
+     */
+    public int size() {
+        synchronized( entries ) {
+            return entries.size();
+        }
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Change the maximum number of entries, least recently used ones are evicted if needed.
+     * A maximum size of zero disables the cache.
+     *
+     * @param maximumSize the new maximum number of entries
+     */
+    public void setMaximumSize( int maximumSize ) {
+        if( maximumSize < 0 ) {
+            throw new IllegalArgumentException( "maximumSize must not be negative" );
+        }
+        synchronized( entries ) {
+            this.maximumSize = maximumSize;
+            while( entries.size() > maximumSize ) {
+                entries.remove( entries.keySet().iterator().next() );
+            }
+        }
+    }
+
+    /**
+     * Remove all entries and reset counters
+     */
+    public void clear() {
+        synchronized( entries ) {
+            entries.clear();
+        }
+        hits.reset();
+        misses.reset();
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+*************************************************************************
+**  Copyright (c) 2026 CentraleSupélec & EDF.
+**  All rights reserved. This program and the accompanying materials
+**  are made available under the terms of the Eclipse Public License v2.0
+**  which accompanies this distribution, and is available at
+**  https://www.eclipse.org/legal/epl-v20.html
+** 
+**  This file is part of the RiseClipse tool
+**  
+**  Contributors:
+**      Computer Science Department, CentraleSupélec
+**      EDF R&D
+**  Contacts:
+**      dominique.marcadet@centralesupelec.fr
+**      aurelie.dehouck-neveu@edf.fr
+**  Web site:
+**      https://riseclipse.github.io
+*************************************************************************
+*/
+package fr.centralesupelec.edf.riseclipse.util;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * Map from normalized URIs to the resources of a resourceSet, kept up to date by the list
+ * of resources of the resourceSet (an adapter follows changes of URI of the resources).
+ *
+ * URIs are normalized when resources are added or change their URI, and when they are looked up.
+ * If several resources have the same normalized URI, only one of them is found.
+ * Lookups can be done concurrently with modifications.
+ */
+final class NormalizedURIResourceMap {
+
+    private final @NonNull UnaryOperator< URI > normalizer;
+    private final @NonNull Map< URI, Resource > resources = new ConcurrentHashMap<>();
+    // Normalized URI of each mapped resource
+    private final @NonNull Map< Resource, URI > keys = new ConcurrentHashMap<>();
+    // Resources having the same normalized URI as a previous one
+    private final @NonNull Set< Resource > shadowed = ConcurrentHashMap.newKeySet();
+
+    private final AdapterImpl uriTracker = new AdapterImpl() {
+        @Override
+        public void notifyChanged( Notification notification ) {
+            if(( notification.getFeatureID( Resource.class ) == Resource.RESOURCE__URI )
+                    && ( notification.getNotifier() instanceof Resource resource )) {
+                unmap( resource );
+                map( resource );
+            }
+        }
+    };
+
+    /**
+     * @param normalizer the normalization of URIs, usually done by the URIConverter of the resourceSet
+     */
+    NormalizedURIResourceMap( @NonNull UnaryOperator< URI > normalizer ) {
+        this.normalizer = normalizer;
+    }
+
+    /**
+     * @param uri the URI of a resource, it will be normalized
+     * @return the resource with the given URI once normalized, null if none
+     */
+    Resource get( URI uri ) {
+        if( uri == null ) return null;
+        return resources.get( normalizer.apply( uri ));
+    }
+
+    int size() {
+        return resources.size();
+    }
+
+    /**
+     * A resource has been added to the resourceSet
+     */
+    void added( @NonNull Resource resource ) {
+        map( resource );
+        resource.eAdapters().add( uriTracker );
+    }
+
+    /**
+     * A resource has been removed from the resourceSet
+     */
+    void removed( @NonNull Resource resource ) {
+        resource.eAdapters().remove( uriTracker );
+        unmap( resource );
+    }
+
+    private void map( @NonNull Resource resource ) {
+        if( resource.getURI() == null ) return;
+        URI key = normalizer.apply( resource.getURI() );
+        keys.put( resource, key );
+        if( resources.putIfAbsent( key, resource ) != null ) {
+            shadowed.add( resource );
+        }
+    }
+
+    private void unmap( @NonNull Resource resource ) {
+        URI key = keys.remove( resource );
+        if( key == null ) return;
+        if( shadowed.remove( resource )) return;
+        if( resources.remove( key, resource )) {
+            // Another resource with the same URI may now be found
+            for( Resource other : shadowed ) {
+                if( key.equals( keys.get( other ))) {
+                    shadowed.remove( other );
+                    resources.put( key, other );
+                    break;
+                }
+            }
+        }
+    }
+
+}
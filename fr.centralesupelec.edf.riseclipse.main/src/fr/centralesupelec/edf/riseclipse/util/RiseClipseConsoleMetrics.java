@@ -0,0 +1,193 @@
+/*
+*************************************************************************
+**  Copyright (c) 2026 CentraleSupélec & EDF.
+**  All rights reserved. This program and the accompanying materials
+**  are made available under the terms of the Eclipse Public License v2.0
+**  which accompanies this distribution, and is available at
+**  https://www.eclipse.org/legal/epl-v20.html
+** 
+**  This file is part of the RiseClipse tool
+**  
+**  Contributors:
+**      Computer Science Department, CentraleSupélec
+**      EDF R&D
+**  Contacts:
+**      dominique.marcadet@centralesupelec.fr
+**      aurelie.dehouck-neveu@edf.fr
+**  Web site:
+**      https://riseclipse.github.io
+*************************************************************************
+*/
+package fr.centralesupelec.edf.riseclipse.util;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * Counters of the messages given to a console, per severity and per category.
+ *
+ * Messages filtered by the level of the console are counted, and also counted apart.
+ * Counters can be read while messages are output, and can be published as an MXBean.
+ */
+public final class RiseClipseConsoleMetrics implements RiseClipseConsoleMetricsMXBean {
+
+    /**
+     * Domain of the ObjectName used by {@link #registerMBean(String)}
+     */
+    public static final String JMX_DOMAIN = "fr.centralesupelec.edf.riseclipse";
+
+    private static final Severity[] SEVERITIES = Severity.values();
+
+    private static final class Counters {
+        private final LongAdder all = new LongAdder();
+        private final LongAdder filtered = new LongAdder();
+    }
+
+    private final Counters[] bySeverity = new Counters[SEVERITIES.length];
+    private final ConcurrentHashMap< String, Counters > byCategory = new ConcurrentHashMap<>();
+    private ObjectName objectName;
+
+    RiseClipseConsoleMetrics() {
+        for( int i = 0; i < bySeverity.length; ++i ) {
+            bySeverity[i] = new Counters();
+        }
+    }
+
+    /*
+     * Count a message
+     */
+    void count( @NonNull Severity severity, @NonNull String category, boolean filtered ) {
+        Counters severityCounters = bySeverity[severity.ordinal()];
+        Counters categoryCounters = byCategory.computeIfAbsent( category, c -> new Counters() );
+        severityCounters.all.increment();
+        categoryCounters.all.increment();
+        if( filtered ) {
+            severityCounters.filtered.increment();
+            categoryCounters.filtered.increment();
+        }
+    }
+
+    /**
+     * @param severity a severity
+     * @return the number of messages of this severity, output or filtered
+     */
+    public long getCount( @NonNull Severity severity ) {
+        return bySeverity[severity.ordinal()].all.sum();
+    }
+
+    /**
+     * @param severity a severity
+     * @return the number of messages of this severity filtered by level
+     */
+    public long getFilteredCount( @NonNull Severity severity ) {
+        return bySeverity[severity.ordinal()].filtered.sum();
+    }
+
+    /**
+     * @param category a category
+     * @return the number of messages of this category, output or filtered
+     */
+    public long getCount( @NonNull String category ) {
+        Counters counters = byCategory.get( category );
+        return ( counters == null ) ? 0 : counters.all.sum();
+    }
+
+    /**
+     * @param category a category
+     * @return the number of messages of this category filtered by level
+     */
+    public long getFilteredCount( @NonNull String category ) {
+        Counters counters = byCategory.get( category );
+        return ( counters == null ) ? 0 : counters.filtered.sum();
+    }
+
+    @Override
+    public Map< String, Long > getCountsBySeverity() {
+        Map< String, Long > counts = new LinkedHashMap<>();
+        for( Severity severity : SEVERITIES ) {
+            counts.put( severity.name(), getCount( severity ));
+        }
+        return counts;
+    }
+
+    @Override
+    public Map< String, Long > getFilteredCountsBySeverity() {
+        Map< String, Long > counts = new LinkedHashMap<>();
+        for( Severity severity : SEVERITIES ) {
+            counts.put( severity.name(), getFilteredCount( severity ));
+        }
+        return counts;
+    }
+
+    @Override
+    public Map< String, Long > getCountsByCategory() {
+        Map< String, Long > counts = new TreeMap<>();
+        byCategory.forEach( ( category, counters ) -> counts.put( category, counters.all.sum() ));
+        return counts;
+    }
+
+    @Override
+    public Map< String, Long > getFilteredCountsByCategory() {
+        Map< String, Long > counts = new TreeMap<>();
+        byCategory.forEach( ( category, counters ) -> counts.put( category, counters.filtered.sum() ));
+        return counts;
+    }
+
+    @Override
+    public long getTotalCount() {
+        long total = 0;
+        for( Counters counters : bySeverity ) {
+            total += counters.all.sum();
+        }
+        return total;
+    }
+
+    /**
+     * Counters are not reset atomically: messages counted during the reset may be partially counted
+     */
+    @Override
+    public void reset() {
+        for( Counters counters : bySeverity ) {
+            counters.all.reset();
+            counters.filtered.reset();
+        }
+        byCategory.clear();
+    }
+
+    /**
+     * Publish these metrics in the platform MBeanServer.
+     *
+     * @param name name of the console, used as name key of the ObjectName
+     * @return the ObjectName used
+     * @throws JMException if registration fails, for example if the name is already used
+     */
+    public synchronized @NonNull ObjectName registerMBean( @NonNull String name ) throws JMException {
+        unregisterMBean();
+        ObjectName on = new ObjectName( JMX_DOMAIN + ":type=ConsoleMetrics,name=" + ObjectName.quote( name ));
+        ManagementFactory.getPlatformMBeanServer().registerMBean( this, on );
+        objectName = on;
+        return on;
+    }
+
+    /**
+     * Remove these metrics from the platform MBeanServer, if they have been published.
+     *
+     * @throws JMException if unregistration fails
+     */
+    public synchronized void unregisterMBean() throws JMException {
+        if( objectName != null ) {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean( objectName );
+            objectName = null;
+        }
+    }
+
+}
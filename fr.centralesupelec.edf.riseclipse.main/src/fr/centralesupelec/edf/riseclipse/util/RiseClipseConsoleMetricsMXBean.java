@@ -0,0 +1,60 @@
+/*
+*************************************************************************
+**  Copyright (c) 2026 CentraleSupélec & EDF.
+**  All rights reserved. This program and the accompanying materials
+**  are made available under the terms of the Eclipse Public License v2.0
+**  which accompanies this distribution, and is available at
+**  https://www.eclipse.org/legal/epl-v20.html
+** 
+**  This file is part of the RiseClipse tool
+**  
+**  Contributors:
+**      Computer Science Department, CentraleSupélec
+**      EDF R&D
+**  Contacts:
+**      dominique.marcadet@centralesupelec.fr
+**      aurelie.dehouck-neveu@edf.fr
+**  Web site:
+**      https://riseclipse.github.io
+*************************************************************************
+*/
+package fr.centralesupelec.edf.riseclipse.util;
+
+import java.util.Map;
+
+/**
+ * Management interface of {@link RiseClipseConsoleMetrics}, for JMX clients.
+ */
+public interface RiseClipseConsoleMetricsMXBean {
+
+    /**
+     * @return the number of messages, output or filtered, for each severity
+     */
+    Map< String, Long > getCountsBySeverity();
+
+    /**
+     * @return the number of messages filtered by level for each severity
+     */
+    Map< String, Long > getFilteredCountsBySeverity();
+
+    /**
+     * @return the number of messages, output or filtered, for each category
+     */
+    Map< String, Long > getCountsByCategory();
+
+    /**
+     * @return the number of messages filtered by level for each category
+     */
+    Map< String, Long > getFilteredCountsByCategory();
+
+    /**
+     * @return the number of messages, output or filtered
+     */
+    long getTotalCount();
+
+    /**
+     * Set all counters to zero
+     */
+    void reset();
+
+}
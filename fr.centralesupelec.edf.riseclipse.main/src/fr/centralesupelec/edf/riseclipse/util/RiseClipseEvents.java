@@ -0,0 +1,131 @@
+/*
+*************************************************************************
+**  Copyright (c) 2026 CentraleSupélec & EDF.
+**  All rights reserved. This program and the accompanying materials
+**  are made available under the terms of the Eclipse Public License v2.0
+**  which accompanies this distribution, and is available at
+**  https://www.eclipse.org/legal/epl-v20.html
+** 
+**  This file is part of the RiseClipse tool
+**  
+**  Contributors:
+**      Computer Science Department, CentraleSupélec
+**      EDF R&D
+**  Contacts:
+**      dominique.marcadet@centralesupelec.fr
+**      aurelie.dehouck-neveu@edf.fr
+**  Web site:
+**      https://riseclipse.github.io
+*************************************************************************
+*/
+package fr.centralesupelec.edf.riseclipse.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events raised by RiseClipse when loading resources and outputting messages.
+ * Events are only committed when enabled in a recording, their cost is negligible otherwise.
+ */
+final class RiseClipseEvents {
+
+    private static final String PREFIX = "fr.centralesupelec.edf.riseclipse.";
+    private static final String RISECLIPSE = "RiseClipse";
+
+    private RiseClipseEvents() {
+    }
+
+    @Name( PREFIX + "ResourceSniffed" )
+    @Label( "Resource Sniffed" )
+    @Description( "Detection of the metamodel of a resource" )
+    @Category( { RISECLIPSE, "Load" } )
+    @StackTrace( false )
+    static final class ResourceSniffed extends Event {
+        @Label( "URI" )
+        String uri;
+
+        @Label( "Metamodel" )
+        @Description( "Name of the metamodel found, empty if unknown, null if not XML" )
+        String metamodel;
+
+        @Label( "Cached" )
+        @Description( "The result was taken from the detection cache" )
+        boolean cached;
+    }
+
+    @Name( PREFIX + "ResourceParsed" )
+    @Label( "Resource Parsed" )
+    @Category( { RISECLIPSE, "Load" } )
+    @StackTrace( false )
+    static final class ResourceParsed extends Event {
+        @Label( "URI" )
+        String uri;
+
+        @Label( "Objects" )
+        @Description( "Number of objects in the resource after parsing" )
+        long objectCount;
+
+        @Label( "Succeeded" )
+        boolean succeeded;
+    }
+
+    @Name( PREFIX + "ZipEntryProcessed" )
+    @Label( "Zip Entry Processed" )
+    @Description( "Scan of an entry of a zip archive" )
+    @Category( { RISECLIPSE, "Load" } )
+    @StackTrace( false )
+    static final class ZipEntryProcessed extends Event {
+        @Label( "Archive" )
+        String archive;
+
+        @Label( "Entry" )
+        String entry;
+
+        @Label( "Size" )
+        @DataAmount
+        long size;
+
+        @Label( "Metamodel Found" )
+        @Description( "A metamodel was found for the entry" )
+        boolean metamodelFound;
+    }
+
+    @Name( PREFIX + "FinalizeLoad" )
+    @Label( "Finalize Load" )
+    @Description( "Call of finalizeLoad() for a resource" )
+    @Category( { RISECLIPSE, "Load" } )
+    @StackTrace( false )
+    static final class FinalizeLoad extends Event {
+        @Label( "URI" )
+        String uri;
+    }
+
+    @Name( PREFIX + "MessageEmitted" )
+    @Label( "Message Emitted" )
+    @Description( "Message given to a console, displayed or not" )
+    @Category( { RISECLIPSE, "Console" } )
+    @StackTrace( false )
+    static final class MessageEmitted extends Event {
+        @Label( "Severity" )
+        String severity;
+
+        @Label( "Category" )
+        String category;
+
+        @Label( "File Name" )
+        String filename;
+
+        @Label( "Line" )
+        int lineNumber;
+
+        @Label( "Displayed" )
+        @Description( "False if filtered by level or suppressed as a duplicate" )
+        boolean displayed;
+    }
+
+}
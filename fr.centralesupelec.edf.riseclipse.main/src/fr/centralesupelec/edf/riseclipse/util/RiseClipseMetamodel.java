@@ -20,11 +20,15 @@
 */
 package fr.centralesupelec.edf.riseclipse.util;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
@@ -46,27 +50,34 @@ import org.xml.sax.helpers.DefaultHandler;
 
 public class RiseClipseMetamodel {
     
-    private static final HashMap< String, RiseClipseMetamodel > knownMetamodels = new HashMap<>();
+    // findMetamodelFor() may be called concurrently by several resourceSets
+    private static final Map< String, RiseClipseMetamodel > knownMetamodels = new ConcurrentHashMap<>();
     private static final String XMLNS_ATTRIBUTE_NAME = "xmlns";
-    private static       SAXParser saxParser;
+    private static final SAXParserFactory saxParserFactory = SAXParserFactory.newInstance();
+    // A SAXParser cannot be used by several threads at the same time, each thread has its own one
+    private static final ThreadLocal< SAXParser > saxParser = ThreadLocal.withInitial( RiseClipseMetamodel::newSAXParser );
     private static final URIConverter uriConverter = new ExtensibleURIConverterImpl();
+    private static final MetamodelDetectionCache detectionCache = new MetamodelDetectionCache( MetamodelDetectionCache.DEFAULT_MAXIMUM_SIZE );
     
     private static final String METAMODEL_CATEGORY = "RiseClipse/Metamodel";
     
-    static {
-        SAXParserFactory saxParserFactory = SAXParserFactory.newInstance();
+    // SAXParserFactory is not guaranteed to be thread-safe
+    private static synchronized SAXParser newSAXParser() {
         try {
-            saxParser = saxParserFactory.newSAXParser();
+            return saxParserFactory.newSAXParser();
         }
         catch( ParserConfigurationException e ) {
-            AbstractRiseClipseConsole.getConsole().emergency( METAMODEL_CATEGORY, 0, "RiseClipseMetamodel.static: got ParserConfigurationException ", e );
+            AbstractRiseClipseConsole.getConsole().emergency( METAMODEL_CATEGORY, 0, "RiseClipseMetamodel.newSAXParser: got ParserConfigurationException ", e );
         }
         catch( SAXException e ) {
-            AbstractRiseClipseConsole.getConsole().emergency( METAMODEL_CATEGORY, 0, "RiseClipseMetamodel.static: got SAXException ", e );
+            AbstractRiseClipseConsole.getConsole().emergency( METAMODEL_CATEGORY, 0, "RiseClipseMetamodel.newSAXParser: got SAXException ", e );
         }
+        return null;
     }
 
     public static void loadKnownMetamodels( @NonNull IRiseClipseConsole console ) {
+        // Previous detections may be wrong with new metamodels
+        detectionCache.clear();
         IConfigurationElement[] contributions = Platform.getExtensionRegistry().getConfigurationElementsFor(
                 "fr.centralesupelec.edf.riseclipse.main.meta_models" );
         for( int i = 0; i < contributions.length; i++ ) {
@@ -112,11 +123,11 @@ public class RiseClipseMetamodel {
                 }
             }
             catch( CoreException e ) {
-                console.error( METAMODEL_CATEGORY, 0, "Metamodel with uri " + uri + " has invalid factories." );
+                console.error( METAMODEL_CATEGORY, 0, () -> "Metamodel with uri " + uri + " has invalid factories." );
                 continue;
             }
             if( knownMetamodels.get( uri ) == null ) {
-                console.notice( METAMODEL_CATEGORY, 0, "Added metamodel " + name + " for URI " + uri );
+                console.notice( METAMODEL_CATEGORY, 0, () -> "Added metamodel " + name + " for URI " + uri );
             }
             knownMetamodels.put( uri, new RiseClipseMetamodel( name, newAdapterFactory,
                     newResourceFactory, newResourceSetFactory, newViewerFilter ));
@@ -138,8 +149,138 @@ public class RiseClipseMetamodel {
     }
 
     public static Optional< String > findMetamodelFor( @NonNull URI resourceURI ) {
+        return findMetamodelFor( resourceURI, uriConverter );
+    }
 
+    /**
+     * Look for the metamodel of the given resource using the given URIConverter
+     * (it should be the one of the resourceSet, so that specific URIHandlers are used).
+     * This method can be called concurrently by several threads.
+     * Results for local files are kept in the {@link #getDetectionCache() detection cache}
+     * while they are not modified, results for entries of zip archives opened by a model loader
+     * are kept while the archive is open.
+     * 
+     * @param resourceURI  the URI of the resource
+     * @param converter    the URIConverter used to read the resource
+     * @return the namespace of the metamodel if the resource is an XML file whose
+     *         root element uses a known one, an empty string if it uses another one,
+     *         nothing if this is not an XML file 
+     */
+    public static Optional< String > findMetamodelFor( @NonNull URI resourceURI, @NonNull URIConverter converter ) {
+        return sniff( resourceURI, converter, uri -> detectMetamodelFor( uri, converter, null ));
+    }
 
+    /**
+     * Same as {@link #findMetamodelFor(URI, URIConverter)}, but if a metamodel is found after opening
+     * the resource, the stream, reset at the beginning of the resource, is given to reuse instead of
+     * being closed, so that the resource can be loaded without being opened again.
+     * reuse is then responsible for closing the stream.
+     * 
+     * @param resourceURI  the URI of the resource
+     * @param converter    the URIConverter used to read the resource
+     * @param reuse        the consumer of the opened stream
+     * @return the namespace of the metamodel if the resource is an XML file whose
+     *         root element uses a known one, an empty string if it uses another one,
+     *         nothing if this is not an XML file 
+     */
+    public static Optional< String > findMetamodelFor( @NonNull URI resourceURI, @NonNull URIConverter converter, @NonNull Consumer< @NonNull InputStream > reuse ) {
+        return sniff( resourceURI, converter, uri -> detectMetamodelFor( uri, converter, reuse ));
+    }
+
+    /*
+     * Use the cache or detector, and raise a JFR event
+     */
+    private static Optional< String > sniff( @NonNull URI resourceURI, @NonNull URIConverter converter, @NonNull Function< URI, Optional< String >> detector ) {
+        RiseClipseEvents.ResourceSniffed event = new RiseClipseEvents.ResourceSniffed();
+        event.begin();
+        event.cached = true;
+        Function< URI, Optional< String >> uncached = uri -> {
+            event.cached = false;
+            return detector.apply( uri );
+        };
+        Optional< String > metamodel;
+        if( converter.getURIHandler( resourceURI ) instanceof ZipFileURIHandler archive ) {
+            // Entries are found when the archive is scanned, and found again when they are loaded
+            metamodel = archive.getMetamodel( resourceURI, uncached );
+        }
+        else {
+            metamodel = detectionCache.get( resourceURI, uncached );
+        }
+        if( event.shouldCommit() ) {
+            event.uri = resourceURI.toString();
+            event.metamodel = metamodel.orElse( null );
+            event.commit();
+        }
+        return metamodel;
+    }
+
+    /**
+     * Give access to the cache used by {@link #findMetamodelFor(URI, URIConverter)},
+     * to get its statistics or to change its size.
+     * 
+     * @return the cache of metamodel detection results
+     */
+    public static @NonNull MetamodelDetectionCache getDetectionCache() {
+        return detectionCache;
+    }
+
+    private static Optional< String > detectMetamodelFor( @NonNull URI resourceURI, @NonNull URIConverter converter, Consumer< @NonNull InputStream > reuse ) {
+        BufferedInputStream inputStream;
+        try {
+            inputStream = new BufferedInputStream( converter.createInputStream( resourceURI ), RootNamespaceScanner.MAX_PROLOG_SIZE );
+        }
+        catch( IOException e ) {
+            // Not readable : we will use the standard mechanism
+            return Optional.empty();
+        }
+        Optional< String > metamodel;
+        try {
+            metamodel = findMetamodelIn( inputStream );
+        }
+        catch( IOException e ) {
+            // Not an xml file or any other error : we will use the standard mechanism
+            metamodel = Optional.empty();
+        }
+        if(( reuse != null ) && metamodel.isPresent() ) {
+            try {
+                // Will fail if SAX was needed
+                inputStream.reset();
+                reuse.accept( inputStream );
+                return metamodel;
+            }
+            catch( IOException e ) {
+                // The stream cannot be reused
+            }
+        }
+        try {
+            inputStream.close();
+        }
+        catch( IOException e ) {
+            // Nothing we can do
+        }
+        return metamodel;
+    }
+
+    /*
+     * The lightweight scanner is used first, SAX is used only if the scanner is unsure.
+     */
+    private static Optional< String > findMetamodelIn( @NonNull BufferedInputStream inputStream ) throws IOException {
+        inputStream.mark( RootNamespaceScanner.MAX_PROLOG_SIZE );
+        RootNamespaceScanner scanner = RootNamespaceScanner.scan( inputStream );
+        if( scanner.isNotXML() ) {
+            return Optional.empty();
+        }
+        if( scanner.isRootFound() ) {
+            for( String ns : scanner.getNamespaces() ) {
+                if( ns.endsWith( "#" )) ns = ns.substring( 0, ns.length() - 1 );
+                if( isKnown( ns )) {
+                    return Optional.of( ns );
+                }
+            }
+            return Optional.of( "" );
+        }
+        inputStream.reset();
+        
         DefaultHandler defaultHandler = new DefaultHandler() {
            
             @Override
@@ -157,10 +298,8 @@ public class RiseClipseMetamodel {
                     if( XMLNS_ATTRIBUTE_NAME.equals( furi ) ) {
                         String ns = attributes.getValue( i );
                         if( ns.endsWith( "#" )) ns = ns.substring( 0, ns.length() - 1 );
-                        if( knownMetamodels.containsKey( ns ) 
-                           && knownMetamodels.get( ns ).getResourceSetFactory().isPresent() ) {
+                        if( isKnown( ns )) {
                                 // Stop parsing and give back result
-                                // TODO: can we stop parsing without using an exception ?
                                 throw new MetamodelFoundException( ns );
                         }
                     }
@@ -171,18 +310,18 @@ public class RiseClipseMetamodel {
         };
 
         String res = null;
+        SAXParser parser = saxParser.get();
         try {
-            InputStream inputStream = uriConverter.createInputStream( resourceURI );
-            saxParser.parse( inputStream, defaultHandler );
+            parser.parse( inputStream, defaultHandler );
         }
         catch( MetamodelFoundException e ) {
             res = e.getMetamodel();
         }
-        catch( SAXException | IOException e ) {
+        catch( SAXException e ) {
             // Not an xml file or any other error : we will use the standard mechanism
         }
         finally {
-            saxParser.reset();
+            parser.reset();
         }
 
         return Optional.ofNullable( res );
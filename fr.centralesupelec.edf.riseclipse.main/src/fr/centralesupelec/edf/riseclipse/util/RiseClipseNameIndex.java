@@ -0,0 +1,196 @@
+/*
+*************************************************************************
+**  Copyright (c) 2026 CentraleSupélec & EDF.
+**  All rights reserved. This program and the accompanying materials
+**  are made available under the terms of the Eclipse Public License v2.0
+**  which accompanies this distribution, and is available at
+**  https://www.eclipse.org/legal/epl-v20.html
+** 
+**  This file is part of the RiseClipse tool
+**  
+**  Contributors:
+**      Computer Science Department, CentraleSupélec
+**      EDF R&D
+**  Contacts:
+**      dominique.marcadet@centralesupelec.fr
+**      aurelie.dehouck-neveu@edf.fr
+**  Web site:
+**      https://riseclipse.github.io
+*************************************************************************
+*/
+package fr.centralesupelec.edf.riseclipse.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * Index of named objects shared by the resources of a resourceSet.
+ *
+ * Resources add their named objects while they are loaded (possibly concurrently),
+ * and look for objects of other resources when they are finalized, instead of walking
+ * through the content of those resources.
+ * Objects are designated by the URI of their metamodel, a kind (for example the name of
+ * their class) and a qualified name, whose syntax is up to the metamodel.
+ * Several objects may have the same designation, for example when the same model is
+ * split into several files.
+ * The index can be used concurrently: adding objects for a resource and removing
+ * the objects of this resource are atomic with respect to each other.
+ */
+public class RiseClipseNameIndex {
+
+    private static final class Key {
+        private final @NonNull String metamodel;
+        private final @NonNull String kind;
+        private final @NonNull String qualifiedName;
+        private final int hash;
+
+        Key( @NonNull String metamodel, @NonNull String kind, @NonNull String qualifiedName ) {
+            this.metamodel = metamodel;
+            this.kind = kind;
+            this.qualifiedName = qualifiedName;
+            this.hash = Objects.hash( metamodel, kind, qualifiedName );
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals( Object obj ) {
+            if( this == obj ) return true;
+            if( ! ( obj instanceof Key other )) return false;
+            return ( hash == other.hash )
+                    && qualifiedName.equals( other.qualifiedName )
+                    && kind.equals( other.kind )
+                    && metamodel.equals( other.metamodel );
+        }
+    }
+
+    private static final class Entry {
+        private final @NonNull Resource resource;
+        private final @NonNull EObject object;
+
+        Entry( @NonNull Resource resource, @NonNull EObject object ) {
+            this.resource = resource;
+            this.object = object;
+        }
+    }
+
+    // Arrays are replaced, not modified, so that they can be read without locking
+    private final @NonNull Map< Key, Entry[] > entries = new ConcurrentHashMap<>();
+    // The keys of a resource are only accessed while its mapping is locked by compute()
+    private final @NonNull Map< Resource, List< Key >> keysByResource = new ConcurrentHashMap<>();
+
+    /**
+     * Add an object to the index
+     * 
+     * @param resource      the resource containing the object
+     * @param metamodel     the URI of the metamodel of the object
+     * @param kind          the kind of the object
+     * @param qualifiedName the qualified name of the object
+     * @param object        the object
+     */
+    public void add( @NonNull Resource resource, @NonNull String metamodel, @NonNull String kind, @NonNull String qualifiedName, @NonNull EObject object ) {
+        Key key = new Key( metamodel, kind, qualifiedName );
+        Entry entry = new Entry( resource, object );
+        keysByResource.compute( resource, ( r, keys ) -> {
+            if( keys == null ) keys = new ArrayList<>();
+            entries.merge( key, new Entry[] { entry }, ( previous, added ) -> {
+                Entry[] merged = Arrays.copyOf( previous, previous.length + 1 );
+                merged[previous.length] = entry;
+                return merged;
+            });
+            keys.add( key );
+            return keys;
+        });
+    }
+
+    /**
+     * @param metamodel     the URI of the metamodel of the object
+     * @param kind          the kind of the object
+     * @param qualifiedName the qualified name of the object
+     * @return the object with the given designation, empty if there is none or several ones
+     */
+    public @NonNull Optional< EObject > find( @NonNull String metamodel, @NonNull String kind, @NonNull String qualifiedName ) {
+        Entry[] found = entries.get( new Key( metamodel, kind, qualifiedName ));
+        if(( found == null ) || ( found.length != 1 )) return Optional.empty();
+        return Optional.of( found[0].object );
+    }
+
+    /**
+     * @param metamodel     the URI of the metamodel of the objects
+     * @param kind          the kind of the objects
+     * @param qualifiedName the qualified name of the objects
+     * @return all the objects with the given designation
+     */
+    public @NonNull List< EObject > findAll( @NonNull String metamodel, @NonNull String kind, @NonNull String qualifiedName ) {
+        Entry[] found = entries.get( new Key( metamodel, kind, qualifiedName ));
+        if( found == null ) return List.of();
+        List< EObject > objects = new ArrayList<>( found.length );
+        for( Entry e : found ) {
+            objects.add( e.object );
+        }
+        return objects;
+    }
+
+    /**
+     * Remove all the objects added for the given resource
+     * 
+     * @param resource a resource of the resourceSet
+     */
+    public void remove( @NonNull Resource resource ) {
+        keysByResource.computeIfPresent( resource, ( r, keys ) -> {
+            for( Key key : keys ) {
+                entries.computeIfPresent( key, ( k, previous ) -> {
+                    Entry[] kept = Arrays.stream( previous ).filter( e -> e.resource != resource ).toArray( Entry[]::new );
+                    return kept.length == 0 ? null : kept;
+                });
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Remove all the objects added for resources which are not in the given ones,
+     * for example resources removed from the resourceSet while they were loaded
+     * 
+     * @param resources the resources of the resourceSet
+     */
+    public void retain( @NonNull Collection< ? extends Resource > resources ) {
+        Set< Resource > kept = new HashSet<>( resources );
+        for( Resource resource : keysByResource.keySet() ) {
+            if( ! kept.contains( resource )) {
+                remove( resource );
+            }
+        }
+    }
+
+    /**
+     * @return the number of different designations
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Remove all the objects, must not be called while objects are added
+     */
+    public void clear() {
+        entries.clear();
+        keysByResource.clear();
+    }
+
+}
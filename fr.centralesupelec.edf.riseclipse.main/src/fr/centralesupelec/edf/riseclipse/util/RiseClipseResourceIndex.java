@@ -0,0 +1,238 @@
+/*
+*************************************************************************
+**  Copyright (c) 2026 CentraleSupélec & EDF.
+**  All rights reserved. This program and the accompanying materials
+**  are made available under the terms of the Eclipse Public License v2.0
+**  which accompanies this distribution, and is available at
+**  https://www.eclipse.org/legal/epl-v20.html
+** 
+**  This file is part of the RiseClipse tool
+**  
+**  Contributors:
+**      Computer Science Department, CentraleSupélec
+**      EDF R&D
+**  Contacts:
+**      dominique.marcadet@centralesupelec.fr
+**      aurelie.dehouck-neveu@edf.fr
+**  Web site:
+**      https://riseclipse.github.io
+*************************************************************************
+*/
+package fr.centralesupelec.edf.riseclipse.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.common.util.BasicEList;
+import org.eclipse.emf.common.util.ECollections;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * Index of the IRiseClipseResource of a resourceSet, kept up to date by the list
+ * of resources of the resourceSet, so that no copy or scan is needed to access them.
+ *
+ * Resources are kept in the order of the resourceSet, and can also be found by URI
+ * (an adapter follows changes of URI) and by metamodel.
+ * The index also knows which resources have been finalized, and which are pending:
+ * a resource is pending from its addition to the resourceSet until it is finalized.
+ * The index can be used concurrently: resources are found by URI without locking,
+ * other methods are synchronized, and return copies except {@link #getResources()}.
+ */
+final class RiseClipseResourceIndex {
+
+    /**
+     * Metamodel used for resources whose metamodel is not known
+     */
+    static final @NonNull String UNKNOWN_METAMODEL = "";
+
+    private final @NonNull List< Resource > allResources;
+    private final @NonNull EList< IRiseClipseResource > resources = new BasicEList<>();
+    private final @NonNull EList< IRiseClipseResource > resourcesView = ECollections.unmodifiableEList( resources );
+    private final @NonNull Map< URI, IRiseClipseResource > resourcesByURI = new ConcurrentHashMap<>();
+    private final @NonNull Map< String, EList< IRiseClipseResource >> resourcesByMetamodel = new HashMap<>();
+    private final @NonNull Map< IRiseClipseResource, String > metamodels = new HashMap<>();
+    private final @NonNull LinkedHashSet< IRiseClipseResource > pending = new LinkedHashSet<>();
+    private final @NonNull LinkedHashSet< IRiseClipseResource > finalized = new LinkedHashSet<>();
+
+    /*
+     * Follows changes of URI of indexed resources
+     */
+    private final AdapterImpl uriTracker = new AdapterImpl() {
+        @Override
+        public void notifyChanged( Notification notification ) {
+            if(( notification.getFeatureID( Resource.class ) == Resource.RESOURCE__URI )
+                    && ( notification.getNotifier() instanceof IRiseClipseResource resource )) {
+                removeURI(( URI ) notification.getOldValue(), resource );
+                addURI(( URI ) notification.getNewValue(), resource );
+            }
+        }
+    };
+
+    /**
+     * @param allResources the list of resources of the resourceSet, used to find where
+     *                     a resource inserted in the middle of it goes
+     */
+    RiseClipseResourceIndex( @NonNull List< Resource > allResources ) {
+        this.allResources = allResources;
+    }
+
+    /**
+     * @return an unmodifiable live view of the indexed resources, in the order of the resourceSet;
+     *         it must not be used while resources are added or removed
+     */
+    @NonNull EList< IRiseClipseResource > getResources() {
+        return resourcesView;
+    }
+
+    /**
+     * @return a copy of the indexed resources, in the order of the resourceSet
+     */
+    synchronized @NonNull EList< IRiseClipseResource > copyResources() {
+        return new BasicEList<>( resources );
+    }
+
+    synchronized int size() {
+        return resources.size();
+    }
+
+    /**
+     * @return the indexed resource with the given URI, null if none
+     */
+    IRiseClipseResource getResource( URI uri ) {
+        return ( uri == null ) ? null : resourcesByURI.get( uri );
+    }
+
+    /**
+     * @return a copy of the indexed resources of the given metamodel, in order of addition
+     */
+    synchronized @NonNull EList< IRiseClipseResource > getResources( @NonNull String metamodel ) {
+        return new BasicEList<>( resourcesByMetamodel.getOrDefault( metamodel, ECollections.emptyEList() ));
+    }
+
+    /**
+     * @return the metamodel of the given indexed resource, {@link #UNKNOWN_METAMODEL} if it is not known
+     */
+    synchronized @NonNull String getMetamodel( @NonNull IRiseClipseResource resource ) {
+        return metamodels.getOrDefault( resource, UNKNOWN_METAMODEL );
+    }
+
+    /**
+     * @return the resources not finalized since their addition, in order of addition
+     */
+    synchronized @NonNull List< IRiseClipseResource > getPendingResources() {
+        return new ArrayList<>( pending );
+    }
+
+    /**
+     * @return a copy of the finalized resources
+     */
+    synchronized @NonNull Collection< IRiseClipseResource > getFinalizedResources() {
+        return new ArrayList<>( finalized );
+    }
+
+    synchronized boolean isFinalized( @NonNull IRiseClipseResource resource ) {
+        return finalized.contains( resource );
+    }
+
+    /**
+     * Record that the given resource has been finalized, nothing is done if it is not indexed
+     */
+    synchronized void setFinalized( @NonNull IRiseClipseResource resource ) {
+        if( pending.remove( resource )) {
+            finalized.add( resource );
+        }
+    }
+
+    /**
+     * Record the metamodel of an indexed resource
+     */
+    synchronized void setMetamodel( @NonNull IRiseClipseResource resource, @NonNull String metamodel ) {
+        String previous = metamodels.get( resource );
+        if(( previous == null ) || previous.equals( metamodel )) return;
+        resourcesByMetamodel.get( previous ).remove( resource );
+        metamodels.put( resource, metamodel );
+        resourcesByMetamodel.computeIfAbsent( metamodel, m -> new BasicEList<>() ).add( resource );
+    }
+
+    /**
+     * A resource has been added at the given index of the list of resources of the resourceSet
+     */
+    synchronized void added( int index, @NonNull IRiseClipseResource resource ) {
+        if( index == allResources.size() - 1 ) {
+            resources.add( resource );
+        }
+        else {
+            resources.add( positionOf( index ), resource );
+        }
+        addURI( resource.getURI(), resource );
+        metamodels.put( resource, UNKNOWN_METAMODEL );
+        resourcesByMetamodel.computeIfAbsent( UNKNOWN_METAMODEL, m -> new BasicEList<>() ).add( resource );
+        pending.add( resource );
+        resource.eAdapters().add( uriTracker );
+    }
+
+    /**
+     * A resource has been removed from the list of resources of the resourceSet
+     */
+    synchronized void removed( @NonNull IRiseClipseResource resource ) {
+        if( ! resources.isEmpty() && ( resources.get( resources.size() - 1 ) == resource )) {
+            resources.remove( resources.size() - 1 );
+        }
+        else {
+            resources.remove( resource );
+        }
+        resource.eAdapters().remove( uriTracker );
+        removeURI( resource.getURI(), resource );
+        String metamodel = metamodels.remove( resource );
+        if( metamodel != null ) {
+            resourcesByMetamodel.get( metamodel ).remove( resource );
+        }
+        pending.remove( resource );
+        finalized.remove( resource );
+    }
+
+    /**
+     * A resource has been moved to the given index of the list of resources of the resourceSet
+     */
+    synchronized void moved( int index, @NonNull IRiseClipseResource resource ) {
+        resources.remove( resource );
+        resources.add( positionOf( index ), resource );
+    }
+
+    /*
+     * Position in the index of the resource at the given index in the resourceSet:
+     * the number of indexed resources before it.
+     */
+    private int positionOf( int index ) {
+        int position = 0;
+        for( int i = 0; i < index; ++i ) {
+            if( allResources.get( i ) instanceof IRiseClipseResource ) {
+                ++position;
+            }
+        }
+        return position;
+    }
+
+    private void addURI( URI uri, @NonNull IRiseClipseResource resource ) {
+        if( uri != null ) {
+            resourcesByURI.put( uri, resource );
+        }
+    }
+
+    private void removeURI( URI uri, @NonNull IRiseClipseResource resource ) {
+        if( uri != null ) {
+            resourcesByURI.remove( uri, resource );
+        }
+    }
+
+}
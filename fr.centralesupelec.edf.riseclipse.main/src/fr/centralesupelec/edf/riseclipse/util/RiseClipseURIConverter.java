@@ -0,0 +1,263 @@
+/*
+*************************************************************************
+**  Copyright (c) 2026 CentraleSupélec & EDF.
+**  All rights reserved. This program and the accompanying materials
+**  are made available under the terms of the Eclipse Public License v2.0
+**  which accompanies this distribution, and is available at
+**  https://www.eclipse.org/legal/epl-v20.html
+** 
+**  This file is part of the RiseClipse tool
+**  
+**  Contributors:
+**      Computer Science Department, CentraleSupélec
+**      EDF R&D
+**  Contacts:
+**      dominique.marcadet@centralesupelec.fr
+**      aurelie.dehouck-neveu@edf.fr
+**  Web site:
+**      https://riseclipse.github.io
+*************************************************************************
+*/
+package fr.centralesupelec.edf.riseclipse.util;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.URIConverter;
+import org.eclipse.emf.ecore.resource.impl.ExtensibleURIConverterImpl;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * URIConverter used by {@link AbstractRiseClipseResourceSet}.
+ *
+ * It allows for reusing the stream opened to find the metamodel of a resource
+ * when this resource is created and then immediately loaded by the same thread:
+ * between {@link #beginPreload()} and {@link #endPreload(Preload)}, a stream given to
+ * {@link #preload(URI, InputStream)} is given back by the next {@link #createInputStream(URI, Map)}
+ * for the same URI. The resource is therefore opened only once.
+ * A stream which has not been used is closed by {@link #endPreload(Preload)}, and a stream
+ * given outside of such a scope is closed at once.
+ */
+class RiseClipseURIConverter extends ExtensibleURIConverterImpl {
+
+    /**
+     * The stream kept for the load following the creation of a resource, confined to a thread
+     */
+    static final class Preload {
+        private URI uri;
+        private InputStream inputStream;
+        
+        private void close() {
+            RiseClipseURIConverter.close( inputStream );
+            uri = null;
+            inputStream = null;
+        }
+    }
+
+    private final ThreadLocal< Preload > preloads = new ThreadLocal<>();
+    
+    // Where the number of bytes read is recorded, may be null
+    private final LoadStatistics statistics;
+
+    /**
+     * @param statistics where the number of bytes read from each resource is recorded, may be null
+     */
+    RiseClipseURIConverter( LoadStatistics statistics ) {
+        this.statistics = statistics;
+    }
+
+    /*
+     * Count the bytes read, they are recorded when the stream is closed
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private final @NonNull URI uri;
+        private final @NonNull LoadStatistics statistics;
+        private long count;
+        private boolean closed;
+
+        CountingInputStream( @NonNull InputStream in, @NonNull URI uri, @NonNull LoadStatistics statistics ) {
+            super( in );
+            this.uri = uri;
+            this.statistics = statistics;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if( b != -1 ) ++count;
+            return b;
+        }
+
+        @Override
+        public int read( byte[] b, int off, int len ) throws IOException {
+            int n = in.read( b, off, len );
+            if( n > 0 ) count += n;
+            return n;
+        }
+
+        @Override
+        public long skip( long n ) throws IOException {
+            long skipped = in.skip( n );
+            count += skipped;
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            // Counting would be wrong after a reset
+            return false;
+        }
+
+        @Override
+        public synchronized void mark( int readlimit ) {
+            // Not supported
+        }
+
+        @Override
+        public synchronized void reset() throws IOException {
+            throw new IOException( "mark/reset not supported" );
+        }
+
+        @Override
+        public void close() throws IOException {
+            if( ! closed ) {
+                closed = true;
+                statistics.addBytesRead( uri, count );
+            }
+            super.close();
+        }
+    }
+
+    /**
+     * Begin the creation and load of a resource by the current thread: the stream
+     * opened to find its metamodel will be used to load it.
+     *
+     * @return the previous scope of the current thread, to be given to {@link #endPreload(Preload)}
+     */
+    Preload beginPreload() {
+        Preload previous = preloads.get();
+        preloads.set( new Preload() );
+        return previous;
+    }
+
+    /**
+     * End the scope begun by the matching {@link #beginPreload()}, the kept stream is closed
+     * if it has not been used.
+     *
+     * @param previous the value returned by the matching {@link #beginPreload()}
+     */
+    void endPreload( Preload previous ) {
+        Preload preload = preloads.get();
+        if( preload != null ) {
+            preload.close();
+        }
+        if( previous == null ) {
+            preloads.remove();
+        }
+        else {
+            preloads.set( previous );
+        }
+    }
+
+    /**
+     * @return true if a stream given to {@link #preload(URI, InputStream)} by the current thread will be kept
+     */
+    boolean isPreloading() {
+        return preloads.get() != null;
+    }
+
+    /**
+     * Keep the given stream, positioned at the beginning of the resource, for the next
+     * opening of the resource by the current thread. The converter is responsible for closing it.
+     *
+     * @param uri         the URI of the resource
+     * @param inputStream the stream giving access to the content of the resource
+     */
+    void preload( @NonNull URI uri, @NonNull InputStream inputStream ) {
+        Preload preload = preloads.get();
+        if( preload == null ) {
+            close( inputStream );
+            return;
+        }
+        preload.close();
+        preload.uri = uri;
+        preload.inputStream = inputStream;
+    }
+
+    private void discard( URI uri ) {
+        Preload preload = preloads.get();
+        if(( preload != null ) && uri.equals( preload.uri )) {
+            preload.close();
+        }
+    }
+
+    private static void close( InputStream inputStream ) {
+        if( inputStream == null ) return;
+        try {
+            inputStream.close();
+        }
+        catch( IOException e ) {
+            // Nothing we can do
+        }
+    }
+
+    @Override
+    public InputStream createInputStream( URI uri, Map< ?, ? > options ) throws IOException {
+        InputStream inputStream = takePreloaded( uri, options );
+        if( inputStream == null ) {
+            inputStream = super.createInputStream( uri, options );
+            if(( statistics == null ) || ( inputStream instanceof URIConverter.Loadable ) || ( inputStream instanceof URIConverter.Readable )) {
+                // Streams with special capabilities are not hidden
+                return inputStream;
+            }
+            return new CountingInputStream( inputStream, uri, statistics );
+        }
+        // Same response as FileURIHandlerImpl
+        if(( options != null ) && uri.isFile() ) {
+            @SuppressWarnings( "unchecked" )
+            Map< Object, Object > response = ( Map< Object, Object > ) options.get( URIConverter.OPTION_RESPONSE );
+            if( response != null ) {
+                response.put( URIConverter.RESPONSE_TIME_STAMP_PROPERTY, new File( uri.toFileString() ).lastModified() );
+            }
+        }
+        return inputStream;
+    }
+
+    /*
+     * The kept stream has been opened without options, it is not used if an option
+     * changing the way the resource is opened is given.
+     */
+    private InputStream takePreloaded( URI uri, Map< ?, ? > options ) {
+        Preload preload = preloads.get();
+        if(( preload == null ) || ( preload.inputStream == null ) || ! preload.uri.equals( uri )) {
+            return null;
+        }
+        if(( options != null ) && ( options.get( URIConverter.OPTION_TIMEOUT ) != null )) {
+            preload.close();
+            return null;
+        }
+        InputStream inputStream = preload.inputStream;
+        preload.uri = null;
+        preload.inputStream = null;
+        return inputStream;
+    }
+
+    @Override
+    public OutputStream createOutputStream( URI uri, Map< ?, ? > options ) throws IOException {
+        // The kept stream would be outdated, and may prevent writing
+        discard( uri );
+        return super.createOutputStream( uri, options );
+    }
+
+    @Override
+    public void delete( URI uri, Map< ?, ? > options ) throws IOException {
+        discard( uri );
+        super.delete( uri, options );
+    }
+
+}
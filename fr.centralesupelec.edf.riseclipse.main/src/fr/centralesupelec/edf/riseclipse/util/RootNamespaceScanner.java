@@ -0,0 +1,331 @@
+/*
+*************************************************************************
+**  Copyright (c) 2026 CentraleSupélec & EDF.
+**  All rights reserved. This program and the accompanying materials
+**  are made available under the terms of the Eclipse Public License v2.0
+**  which accompanies this distribution, and is available at
+**  https://www.eclipse.org/legal/epl-v20.html
+** 
+**  This file is part of the RiseClipse tool
+**  
+**  Contributors:
+**      Computer Science Department, CentraleSupélec
+**      EDF R&D
+**  Contacts:
+**      dominique.marcadet@centralesupelec.fr
+**      aurelie.dehouck-neveu@edf.fr
+**  Web site:
+**      https://riseclipse.github.io
+*************************************************************************
+*/
+package fr.centralesupelec.edf.riseclipse.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * Lightweight scanner of the beginning of an XML document, used to get the namespaces
+ * declared on its root element without starting a SAX parser.
+ *
+ * Only the first {@link #MAX_PROLOG_SIZE} bytes are read. Byte order marks, XML declaration
+ * (with its encoding), comments, processing instructions and UTF-16 documents are handled.
+ * Anything the scanner is not sure to interpret like a SAX parser would (a DOCTYPE, an entity
+ * reference, a prolog too long, an unexpected character, etc.) gives an unsure result,
+ * so that the caller can use a real parser.
+ */
+final class RootNamespaceScanner {
+
+    /**
+     * Maximum number of bytes read by the scanner
+     */
+    static final int MAX_PROLOG_SIZE = 8192;
+
+    private static final String XMLNS_ATTRIBUTE_NAME = "xmlns";
+    private static final String XML_DECLARATION_START = "<?xml";
+
+    private enum Outcome {
+        ROOT_FOUND,
+        NOT_XML,
+        UNSURE
+    }
+
+    private static final RootNamespaceScanner NOT_XML = new RootNamespaceScanner( Outcome.NOT_XML, List.of() );
+    private static final RootNamespaceScanner UNSURE  = new RootNamespaceScanner( Outcome.UNSURE, List.of() );
+
+    private final @NonNull Outcome outcome;
+    private final @NonNull List< String > namespaces;
+
+    private RootNamespaceScanner( @NonNull Outcome outcome, @NonNull List< String > namespaces ) {
+        this.outcome = outcome;
+        this.namespaces = namespaces;
+    }
+
+    /**
+     * @return true if the root element has been found
+     */
+    boolean isRootFound() {
+        return outcome == Outcome.ROOT_FOUND;
+    }
+
+    /**
+     * @return true if the document is certainly not an XML one
+     */
+    boolean isNotXML() {
+        return outcome == Outcome.NOT_XML;
+    }
+
+    /**
+     * @return the values of the namespace declarations of the root element, in order,
+     *         if it has been found
+     */
+    @NonNull List< String > getNamespaces() {
+        return namespaces;
+    }
+
+    /**
+     * Scan the beginning of the given stream.
+     * At most {@link #MAX_PROLOG_SIZE} bytes are read, the stream is not closed.
+     *
+     * @param in the stream to scan
+     * @return the result of the scan
+     * @throws IOException if the stream cannot be read
+     */
+    static @NonNull RootNamespaceScanner scan( @NonNull InputStream in ) throws IOException {
+        byte[] bytes = in.readNBytes( MAX_PROLOG_SIZE );
+        String text = decode( bytes );
+        if( text == null ) return UNSURE;
+        return new Scan( text ).run();
+    }
+
+    /*
+     * Use the byte order mark or the first bytes to find the family of the encoding,
+     * then the XML declaration to get the actual one.
+     * Returns null if encoding cannot be found with certainty.
+     */
+    private static String decode( byte[] bytes ) {
+        int n = bytes.length;
+        if( n < 4 ) {
+            // Too short to be an XML document with a root element, let SAX report the problem
+            return null;
+        }
+        int b0 = bytes[0] & 0xFF;
+        int b1 = bytes[1] & 0xFF;
+        int b2 = bytes[2] & 0xFF;
+        int b3 = bytes[3] & 0xFF;
+
+        if(( b0 == 0 && b1 == 0 ) || ( b0 == 0xFF && b1 == 0xFE && b2 == 0 && b3 == 0 )) {
+            // UCS-4
+            return null;
+        }
+        if( b0 == 0xFE && b1 == 0xFF ) {
+            return decode( bytes, 2, StandardCharsets.UTF_16BE );
+        }
+        if( b0 == 0xFF && b1 == 0xFE ) {
+            return decode( bytes, 2, StandardCharsets.UTF_16LE );
+        }
+        if( b0 == 0 && b1 == '<' && b2 == 0 && b3 == '?' ) {
+            return decode( bytes, 0, StandardCharsets.UTF_16BE );
+        }
+        if( b0 == '<' && b1 == 0 && b2 == '?' && b3 == 0 ) {
+            return decode( bytes, 0, StandardCharsets.UTF_16LE );
+        }
+        int start = 0;
+        if( b0 == 0xEF && b1 == 0xBB && b2 == 0xBF ) {
+            start = 3;
+        }
+
+        // Encoding with ASCII characters at their usual place: the XML declaration can be read as ISO-8859-1
+        String declaration = new String( bytes, start, n - start, StandardCharsets.ISO_8859_1 );
+        Charset charset = StandardCharsets.UTF_8;
+        if( declaration.startsWith( XML_DECLARATION_START )) {
+            int end = declaration.indexOf( "?>" );
+            if( end == -1 ) return null;
+            String encoding = getPseudoAttribute( declaration.substring( 0, end ), "encoding" );
+            if( encoding != null ) {
+                try {
+                    charset = Charset.forName( encoding );
+                }
+                catch( IllegalArgumentException e ) {
+                    return null;
+                }
+                if( ! XML_DECLARATION_START.equals( new String( bytes, start, XML_DECLARATION_START.length(), charset ))) {
+                    // Encoding not compatible with the first bytes
+                    return null;
+                }
+                if(( start == 3 ) && ( charset != StandardCharsets.UTF_8 )) {
+                    return null;
+                }
+            }
+        }
+        return decode( bytes, start, charset );
+    }
+
+    private static String decode( byte[] bytes, int start, Charset charset ) {
+        try {
+            // The buffer may end in the middle of a character: it will be replaced,
+            // the scan is unsure if this happens before the end of the root start tag
+            return charset.newDecoder()
+                          .onMalformedInput( CodingErrorAction.REPLACE )
+                          .onUnmappableCharacter( CodingErrorAction.REPLACE )
+                          .decode( ByteBuffer.wrap( bytes, start, bytes.length - start ))
+                          .toString();
+        }
+        catch( CharacterCodingException e ) {
+            return null;
+        }
+    }
+
+    /*
+     * Value of a pseudo-attribute in the XML declaration, null if absent
+     */
+    private static String getPseudoAttribute( String declaration, String name ) {
+        int i = declaration.indexOf( name );
+        if( i == -1 ) return null;
+        i += name.length();
+        while(( i < declaration.length() ) && isWhitespace( declaration.charAt( i ))) ++i;
+        if(( i >= declaration.length() ) || ( declaration.charAt( i ) != '=' )) return null;
+        ++i;
+        while(( i < declaration.length() ) && isWhitespace( declaration.charAt( i ))) ++i;
+        if( i >= declaration.length() ) return null;
+        char quote = declaration.charAt( i );
+        if(( quote != '"' ) && ( quote != '\'' )) return null;
+        int end = declaration.indexOf( quote, i + 1 );
+        if( end == -1 ) return null;
+        return declaration.substring( i + 1, end );
+    }
+
+    private static boolean isWhitespace( char c ) {
+        return ( c == ' ' ) || ( c == '\t' ) || ( c == '\n' ) || ( c == '\r' );
+    }
+
+    /*
+     * The scan of decoded text
+     */
+    private static final class Scan {
+
+        private final String text;
+        private int pos;
+
+        Scan( String text ) {
+            this.text = text;
+            this.pos = 0;
+        }
+
+        RootNamespaceScanner run() {
+            if( text.startsWith( XML_DECLARATION_START ) && ( text.length() > 5 ) && isWhitespace( text.charAt( 5 ))) {
+                int end = text.indexOf( "?>" );
+                if( end == -1 ) return UNSURE;
+                if( ! text.substring( 5, end ).trim().startsWith( "version" )) return UNSURE;
+                pos = end + 2;
+            }
+            boolean first = true;
+            while( true ) {
+                skipWhitespaces();
+                if( pos >= text.length() ) return UNSURE;
+                if( text.charAt( pos ) != '<' ) {
+                    // Only possible in an XML document after the root start tag
+                    return first ? NOT_XML : UNSURE;
+                }
+                first = false;
+                if( text.startsWith( "<!--", pos )) {
+                    int end = text.indexOf( "-->", pos + 4 );
+                    if( end == -1 ) return UNSURE;
+                    pos = end + 3;
+                }
+                else if( text.startsWith( "<?", pos )) {
+                    if( text.regionMatches( true, pos + 2, "xml", 0, 3 )) {
+                        // Misplaced XML declaration or reserved target
+                        return UNSURE;
+                    }
+                    int end = text.indexOf( "?>", pos + 2 );
+                    if( end == -1 ) return UNSURE;
+                    pos = end + 2;
+                }
+                else if( text.startsWith( "<!", pos )) {
+                    // DOCTYPE may define default attributes and entities
+                    return UNSURE;
+                }
+                else {
+                    ++pos;
+                    return rootElement();
+                }
+            }
+        }
+
+        private RootNamespaceScanner rootElement() {
+            if( scanName() == null ) return UNSURE;
+            List< String > namespaces = new ArrayList<>();
+            while( true ) {
+                int beforeWhitespaces = pos;
+                skipWhitespaces();
+                if( pos >= text.length() ) return UNSURE;
+                char c = text.charAt( pos );
+                if(( c == '>' ) || text.startsWith( "/>", pos )) {
+                    return new RootNamespaceScanner( Outcome.ROOT_FOUND, namespaces );
+                }
+                if( pos == beforeWhitespaces ) {
+                    // Attributes must be separated by whitespaces
+                    return UNSURE;
+                }
+                String name = scanName();
+                if( name == null ) return UNSURE;
+                skipWhitespaces();
+                if(( pos >= text.length() ) || ( text.charAt( pos ) != '=' )) return UNSURE;
+                ++pos;
+                skipWhitespaces();
+                String value = scanValue();
+                if( value == null ) return UNSURE;
+                if( XMLNS_ATTRIBUTE_NAME.equals( name ) || name.startsWith( XMLNS_ATTRIBUTE_NAME + ":" )) {
+                    namespaces.add( value );
+                }
+            }
+        }
+
+        private void skipWhitespaces() {
+            while(( pos < text.length() ) && isWhitespace( text.charAt( pos ))) ++pos;
+        }
+
+        private String scanName() {
+            int start = pos;
+            while( pos < text.length() ) {
+                char c = text.charAt( pos );
+                if( isWhitespace( c ) || ( c == '=' ) || ( c == '>' ) || ( c == '/' )) break;
+                if(( c == '<' ) || ( c == '"' ) || ( c == '\'' ) || ( c == '&' ) || ( c == '\uFFFD' )) return null;
+                ++pos;
+            }
+            if(( pos == start ) || ( pos >= text.length() )) return null;
+            char first = text.charAt( start );
+            if( ! ( Character.isLetter( first ) || ( first == '_' ) || ( first == ':' ))) return null;
+            return text.substring( start, pos );
+        }
+
+        /*
+         * Attribute value, null if it cannot be given exactly as SAX would do it
+         */
+        private String scanValue() {
+            if( pos >= text.length() ) return null;
+            char quote = text.charAt( pos );
+            if(( quote != '"' ) && ( quote != '\'' )) return null;
+            int end = text.indexOf( quote, pos + 1 );
+            if( end == -1 ) return null;
+            String value = text.substring( pos + 1, end );
+            pos = end + 1;
+            for( int i = 0; i < value.length(); ++i ) {
+                char c = value.charAt( i );
+                // Entity references and whitespace normalization are left to SAX
+                if(( c == '<' ) || ( c == '&' ) || ( c == '\uFFFD' ) || (( c != ' ' ) && isWhitespace( c ))) return null;
+            }
+            return value;
+        }
+    }
+
+}
@@ -38,6 +38,10 @@ public class TextRiseClipseConsole extends AbstractRiseClipseConsole {
         super( useColor );
     }
 
+    public TextRiseClipseConsole( boolean useColor, boolean replaceGlobal ) {
+        super( useColor, replaceGlobal );
+    }
+
 	/**
 	 * Output message on System.out
 	 */
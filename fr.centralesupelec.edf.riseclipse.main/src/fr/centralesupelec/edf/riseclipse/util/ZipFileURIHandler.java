@@ -0,0 +1,130 @@
+/*
+*************************************************************************
+**  Copyright (c) 2026 CentraleSupélec & EDF.
+**  All rights reserved. This program and the accompanying materials
+**  are made available under the terms of the Eclipse Public License v2.0
+**  which accompanies this distribution, and is available at
+**  https://www.eclipse.org/legal/epl-v20.html
+** 
+**  This file is part of the RiseClipse tool
+**  
+**  Contributors:
+**      Computer Science Department, CentraleSupélec
+**      EDF R&D
+**  Contacts:
+**      dominique.marcadet@centralesupelec.fr
+**      aurelie.dehouck-neveu@edf.fr
+**  Web site:
+**      https://riseclipse.github.io
+*************************************************************************
+*/
+package fr.centralesupelec.edf.riseclipse.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.impl.URIHandlerImpl;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * URIHandler giving access to the entries of a local zip archive.
+ *
+ * Entries are designated by the same "archive:" URIs as those used with ArchiveURIHandlerImpl,
+ * but the archive is opened only once, and each entry is directly accessed using the
+ * central directory of the archive, instead of scanning the archive for each entry.
+ * Directories are ignored.
+ * The metamodels of the entries are kept once found, while the archive is open.
+ */
+class ZipFileURIHandler extends URIHandlerImpl implements Closeable {
+
+    private final @NonNull ZipFile zipFile;
+    private final @NonNull Map< URI, ZipEntry > entries = new LinkedHashMap<>();
+    // Entries may be loaded concurrently
+    private final @NonNull Map< URI, Optional< String >> metamodels = new ConcurrentHashMap<>();
+
+    /**
+     * Open the given file as a zip archive
+     *
+     * @param file   the local zip archive
+     * @param zipURI the URI of the archive
+     * @throws IOException if file cannot be opened or is not a zip archive
+     */
+    ZipFileURIHandler( @NonNull File file, @NonNull URI zipURI ) throws IOException {
+        zipFile = new ZipFile( file );
+        Enumeration< ? extends ZipEntry > e = zipFile.entries();
+        while( e.hasMoreElements() ) {
+            ZipEntry entry = e.nextElement();
+            if( ! entry.isDirectory() ) {
+                // Must use "archive:" and not "zip:" to be recognized by ArchiveURIHandlerImpl
+                // when this handler is not available
+                entries.put( URI.createURI( "archive:" + zipURI + "!/" + entry.getName() ), entry );
+            }
+        }
+    }
+
+    /**
+     * @return the URIs of the entries of the archive, in the order of the central directory
+     */
+    @NonNull List< URI > getEntryURIs() {
+        return new ArrayList<>( entries.keySet() );
+    }
+
+    /**
+     * @param uri the URI of an entry
+     * @return the uncompressed size of the entry, -1 if unknown
+     */
+    long getEntrySize( @NonNull URI uri ) {
+        ZipEntry entry = entries.get( uri );
+        return ( entry == null ) ? -1 : entry.getSize();
+    }
+
+    /**
+     * @param uri      the URI of an entry
+     * @param detector used to find the metamodel of the entry the first time it is asked for,
+     *                 it is called only once for a given entry, even by concurrent callers
+     * @return the metamodel of the entry, as returned by detector
+     */
+    @NonNull Optional< String > getMetamodel( @NonNull URI uri, @NonNull Function< URI, Optional< String >> detector ) {
+        return metamodels.computeIfAbsent( uri, detector );
+    }
+
+    @Override
+    public boolean canHandle( URI uri ) {
+        return entries.containsKey( uri );
+    }
+
+    @Override
+    public InputStream createInputStream( URI uri, Map< ?, ? > options ) throws IOException {
+        ZipEntry entry = entries.get( uri );
+        if( entry == null ) {
+            throw new FileNotFoundException( uri.toString() );
+        }
+        // ZipFile allows for concurrent reading of its entries
+        return zipFile.getInputStream( entry );
+    }
+
+    @Override
+    public boolean exists( URI uri, Map< ?, ? > options ) {
+        return entries.containsKey( uri );
+    }
+
+    @Override
+    public void close() throws IOException {
+        zipFile.close();
+    }
+
+}